@@ -18,6 +18,8 @@ public enum ErrorCode {
     LOCATION_NOT_FOUND(HttpStatus.NOT_FOUND, "LOC_404", "위치 정보가 없습니다."),
     BROADCAST_NOT_FOUND(HttpStatus.NOT_FOUND, "BROADCAST_404", "방송 정보를 찾을 수 없습니다."),
     BROADCAST_NOT_ACTIVE(HttpStatus.CONFLICT, "BROADCAST_409", "방송 중이 아닙니다."),
+    BROADCAST_ALREADY_LIKED(HttpStatus.CONFLICT, "LIKE_409", "이번 방송에 이미 좋아요를 눌렀습니다."),
+    LIKE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "LIKE_503", "좋아요 요청이 많습니다. 잠시 후 다시 시도해 주세요."),
 
     // ===== COMMON =====
     INVALID_REQUEST(HttpStatus.BAD_REQUEST, "COMMON_400", "요청 형식이 올바르지 않습니다."),
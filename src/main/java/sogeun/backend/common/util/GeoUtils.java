@@ -0,0 +1,21 @@
+package sogeun.backend.common.util;
+
+public final class GeoUtils {
+
+    // Redis GEO 와 같은 지구 반지름 (거리 결과를 맞추기 위해)
+    public static final double EARTH_RADIUS_M = 6372797.560856;
+    public static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_M;
+
+    private GeoUtils() {
+    }
+
+    // haversine 거리 (m)
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,131 @@
+package sogeun.backend.common.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+// long 전용 해시 집합 (boxing 없음, open addressing + linear probing)
+// 동기화하지 않음 - 호출 쪽에서 락으로 보호
+public final class LongHashSet {
+
+    // 빈 칸 표시 (id 로 쓰지 않는 값)
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] table;
+    private int size;
+
+    public LongHashSet() {
+        this(8);
+    }
+
+    public LongHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        this.table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) throw new IllegalArgumentException("unsupported value");
+
+        if ((size + 1) * 2 > table.length) {
+            resize(table.length * 2);
+        }
+
+        int mask = table.length - 1;
+        int i = index(value, mask);
+        while (table[i] != EMPTY) {
+            if (table[i] == value) return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long value) {
+        int mask = table.length - 1;
+        int i = index(value, mask);
+        while (table[i] != EMPTY) {
+            if (table[i] == value) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean remove(long value) {
+        int mask = table.length - 1;
+        int i = index(value, mask);
+        while (table[i] != EMPTY) {
+            if (table[i] == value) {
+                shiftBack(i, mask);
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public void forEach(LongConsumer action) {
+        for (long v : table) {
+            if (v != EMPTY) action.accept(v);
+        }
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int n = 0;
+        for (long v : table) {
+            if (v != EMPTY) result[n++] = v;
+        }
+        return result;
+    }
+
+    // fan-out API 용
+    public List<Long> toList() {
+        List<Long> result = new ArrayList<>(size);
+        for (long v : table) {
+            if (v != EMPTY) result.add(v);
+        }
+        return result;
+    }
+
+    // 삭제 후 뒤쪽 원소를 당겨서 probe 체인 유지 (tombstone 없음)
+    private void shiftBack(int hole, int mask) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            long v = table[i];
+            if (v == EMPTY) break;
+
+            int home = index(v, mask);
+            // home 이 (hole, i] 구간 밖이면 hole 로 옮겨도 찾을 수 있음
+            boolean movable = (i > hole) ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                table[hole] = v;
+                hole = i;
+            }
+        }
+        table[hole] = EMPTY;
+    }
+
+    private void resize(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        size = 0;
+        for (long v : old) {
+            if (v != EMPTY) add(v);
+        }
+    }
+
+    private static int index(long value, int mask) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
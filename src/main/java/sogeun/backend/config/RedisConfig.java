@@ -0,0 +1,30 @@
+package sogeun.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RedisConfig {
+
+    // 멀티 노드 SSE 전달용 pub/sub 컨테이너 (단일 노드면 만들지 않음)
+    @Bean
+    @ConditionalOnProperty(name = "sse.cluster.enabled", havingValue = "true")
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+
+        // 메시지는 받은 순서대로 한 스레드에서 처리 (기본 executor 는 메시지마다 새 스레드라 같은 유저 이벤트 순서가 뒤바뀜)
+        // 리스너는 lane 에 넣기만 하므로 한 스레드로 충분
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("sse-cluster-");
+        executor.initialize();
+        container.setTaskExecutor(executor);
+        return container;
+    }
+}
@@ -34,10 +34,11 @@ public class Broadcast {
     @JoinColumn(name = "music_id")
     private Music music;
 
-    @Column(name = "like_count", nullable = false)
+    // 좋아요 수 / 반경은 BroadcastLikeCounter 가 주기적으로 기록 (엔티티 변경 감지로는 덮어쓰지 않음)
+    @Column(name = "like_count", nullable = false, updatable = false)
     private int likeCount;
 
-    @Column(name = "radius_meter", nullable = false)
+    @Column(name = "radius_meter", nullable = false, updatable = false)
     private int radiusMeter;
 
     @Column(name = "started_at")
@@ -65,15 +66,17 @@ public class Broadcast {
         Broadcast b = new Broadcast();
         b.senderId = senderId;
         b.likeCount = 0;
-        b.radiusMeter = 200; // 초기 반경
+        b.radiusMeter = radiusFor(0); // 초기 반경 (좋아요 0 기준, 이후에는 카운터 flush 로만 바뀜)
         b.isActive = false;
         return b;
     }
 
     // 좋아요 수에 따라 반경 계산
     public int calculateRadius() {
-        int like = this.likeCount;
+        return radiusFor(this.likeCount);
+    }
 
+    public static int radiusFor(int like) {
         if (like <= 2) return 50;
         if (like <= 5) return 100;
         if (like <= 10) return 150;
@@ -102,8 +105,9 @@ public class Broadcast {
         this.radiusMeter = calculateRadius();
     }
 
-    public void increaseLikeCount() {
-        this.likeCount++;
+    // 카운터의 현재 좋아요 수 반영 (응답/이벤트용, DB 에는 카운터 flush 로만 기록)
+    public void applyLikeCount(int likeCount) {
+        this.likeCount = likeCount;
         updateRadiusByLikes();
     }
 
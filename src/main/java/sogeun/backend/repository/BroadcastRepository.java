@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import sogeun.backend.entity.Broadcast;
+import sogeun.backend.entity.Music;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,9 +21,16 @@ public interface BroadcastRepository extends JpaRepository<Broadcast, Long> {
 
     Optional<Broadcast> findBySenderIdAndIsActiveTrue(Long userId);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select b from Broadcast b where b.id = :id")
-    Optional<Broadcast> findByIdForUpdate(@Param("id") Long id);
+    @Query("select b from Broadcast b left join fetch b.music where b.isActive = true")
+    List<Broadcast> findActiveWithMusic();
+
+    // 송출 중일 때만 음악 변경 (엔티티 조회 없이 한 줄 update, 변경된 행 수 반환)
+    @Modifying
+    @Query("update Broadcast b set b.music = :music, b.updatedAt = :now "
+            + "where b.broadcastId = :broadcastId and b.isActive = true")
+    int updateMusicIfActive(@Param("broadcastId") Long broadcastId,
+                            @Param("music") Music music,
+                            @Param("now") LocalDateTime now);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select b from Broadcast b where b.senderId = :senderId")
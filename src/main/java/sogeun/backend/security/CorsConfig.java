@@ -32,6 +32,9 @@ public class CorsConfig {
 
         config.setAllowedHeaders(List.of("*"));
 
+        // 주변 조회 다음 페이지 cursor (브라우저에서 읽을 수 있도록)
+        config.setExposedHeaders(List.of("X-Next-Cursor"));
+
         // 쿠키/JWT Authorization 헤더 허용
         config.setAllowCredentials(true);
 
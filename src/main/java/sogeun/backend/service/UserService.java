@@ -6,6 +6,8 @@ import org.springframework.data.geo.Point;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import sogeun.backend.common.error.AppException;
 import sogeun.backend.common.error.ErrorCode;
 import sogeun.backend.dto.request.LoginRequest;
@@ -13,22 +15,25 @@ import sogeun.backend.dto.request.UserCreateRequest;
 import sogeun.backend.dto.response.LoginResponse;
 import sogeun.backend.dto.response.MeResponse;
 import sogeun.backend.entity.Broadcast;
-import sogeun.backend.entity.Music;
 import sogeun.backend.entity.User;
-import sogeun.backend.repository.BroadcastRepository;
 import sogeun.backend.repository.MusicLikeRepository;
 import sogeun.backend.repository.UserRepository;
 import sogeun.backend.security.JwtProvider;
 import sogeun.backend.security.RefreshTokenRepository;
+import sogeun.backend.sse.ActiveBroadcast;
+import sogeun.backend.sse.ActiveBroadcastReadModel;
+import sogeun.backend.sse.BroadcastAudienceTracker;
+import sogeun.backend.sse.BroadcastLikeCounter;
 import sogeun.backend.sse.LocationService;
-import sogeun.backend.sse.dto.MusicDto;
+import sogeun.backend.sse.NearbyCursor;
+import sogeun.backend.sse.NearbyResult;
+import sogeun.backend.sse.dto.NearbyPage;
 import sogeun.backend.sse.dto.UserNearbyResponse;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -39,9 +44,11 @@ public class UserService {
     private final JwtProvider jwtProvider;
     private final PasswordEncoder passwordEncoder;
     private final RefreshTokenRepository refreshTokenRepository;
-    private final BroadcastRepository broadcastRepository;
     private final MusicLikeRepository musicLikeRepository;
     private final LocationService locationService;
+    private final BroadcastLikeCounter likeCounter;
+    private final ActiveBroadcastReadModel readModel;
+    private final BroadcastAudienceTracker audienceTracker;
 
     @Transactional
     public User createUser(UserCreateRequest request) {
@@ -108,6 +115,15 @@ public class UserService {
 
         user.updateNickname(nickname);
 
+        // 송출 중이면 커밋 후 주변 목록 / 이벤트 카드에도 반영
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readModel.update(userId, b -> b.withNickname(nickname));
+                audienceTracker.updateCard(userId, c -> c.withNickname(nickname));
+            }
+        });
+
         return new MeResponse(
                 user.getUserId(),
                 user.getLoginId(),
@@ -126,85 +142,109 @@ public class UserService {
                 .toList();
     }
 
-    @Transactional(readOnly = true)
-    public List<UserNearbyResponse> findUsersWithSong(List<Long> userIds) {
-
-        if (userIds.isEmpty()) return List.of();
-
-        List<User> users = userRepository.findAllById(userIds);
-
-        List<Broadcast> broadcasts =
-                broadcastRepository.findBySenderIdInAndIsActiveTrue(userIds);
-
-        Map<Long, Broadcast> broadcastMap = broadcasts.stream()
-                .collect(Collectors.toMap(Broadcast::getSenderId, b -> b));
-
-        return users.stream()
-                .map(user -> {
-                    Broadcast b = broadcastMap.get(user.getUserId());
-                    if (b == null) return null;
-
-                    Music m = b.getMusic();
-                    if (m == null) return null;
-
-                    return new UserNearbyResponse(
-                            user.getUserId(),
-                            user.getNickname(),
-                            true,
-                            b.getBroadcastId(),
-                            new MusicDto(
-                                    m.getTrackId(),
-                                    m.getTitle(),
-                                    m.getArtist(),
-                                    m.getArtworkUrl(),
-                                    m.getPreviewUrl()
-                            ),
-                            b.getRadiusMeter(),
-                            b.getLikeCount()
-                    );
-                })
-                .filter(Objects::nonNull)
-                .toList();
+    // 검색 결과 순서(가까운 순) 그대로, 거리 포함 (송출 중 + 음악 있는 유저만)
+    // 방송 정보는 read model 에서 (DB 조회 없음), 아직 flush 안 된 좋아요 수 / 반경 반영
+    public List<UserNearbyResponse> findUsersWithSong(NearbyResult nearby) {
+
+        if (nearby.size() == 0) return List.of();
+
+        List<ActiveBroadcast> broadcasts = new ArrayList<>(nearby.size());
+        List<Double> distances = new ArrayList<>(nearby.size());
+        for (int i = 0; i < nearby.size(); i++) {
+            ActiveBroadcast b = withSong(nearby.idAt(i));
+            if (b == null) continue;
+            broadcasts.add(b);
+            distances.add(nearby.distanceAt(i));
+        }
+        return toCards(broadcasts, distances);
     }
 
-    // 내 주변 '방송중' 유저 조회
-    // 정책: 방송 안 켠 유저는 호출 X (방송 중이 아니면 예외)
-    @Transactional(readOnly = true)
+    // 송출 중 + 음악 있는 유저의 방송 (아니면 null)
+    private ActiveBroadcast withSong(long userId) {
+        ActiveBroadcast b = readModel.get(userId);
+        return (b == null || b.music() == null) ? null : b;
+    }
+
+    private List<UserNearbyResponse> toCards(List<ActiveBroadcast> broadcasts, List<Double> distances) {
+        if (broadcasts.isEmpty()) return List.of();
+
+        Map<Long, Integer> likes = likeCounter.currentAll(
+                broadcasts.stream().map(ActiveBroadcast::broadcastId).toList());
+
+        List<UserNearbyResponse> result = new ArrayList<>(broadcasts.size());
+        for (int i = 0; i < broadcasts.size(); i++) {
+            ActiveBroadcast b = broadcasts.get(i);
+            Integer count = likes.get(b.broadcastId());
+            if (count != null) b = b.withLikes(count);
+
+            result.add(b.toCard().withDistance(distances.get(i)));
+        }
+        return result;
+    }
+
+    // 내 주변 '방송중' 유저 전체 (가까운 max-results 명까지, 재연결 스냅샷용)
     public List<UserNearbyResponse> findNearbyBroadcastingUsers(Long userId) {
-        log.info("[NEARBY] start requesterId={}", userId);
+        return findNearbyBroadcastingUsers(userId, null, locationService.getMaxResults()).items();
+    }
+
+    // 내 주변 '방송중' 유저 조회 (가까운 순 cursor 페이지, 엔티티는 이 페이지 유저만 조회)
+    // 정책: 방송 안 켠 유저는 호출 X (방송 중이 아니면 빈 페이지)
+    // cursor / size 둘 다 없으면 페이지 없이 이전처럼 전체 (max-results 까지, 다음 cursor 없음)
+    public NearbyPage findNearbyBroadcastingUsers(Long userId, String cursor, Integer size) {
+        if (cursor == null && size == null) {
+            return findNearbyBroadcastingUsers(userId, null, locationService.getMaxResults());
+        }
+        return findNearbyBroadcastingUsers(userId, NearbyCursor.parse(cursor), locationService.pageSize(size));
+    }
+
+    private NearbyPage findNearbyBroadcastingUsers(Long userId, NearbyCursor cursor, int size) {
+        log.info("[NEARBY] start requesterId={} cursor={} size={}", userId, cursor, size);
 
-        // [수정 포인트] orElseThrow 대신 orElse(null)을 사용하여 방송 중이 아닐 때를 대비합니다.
-        Broadcast requesterBroadcast = broadcastRepository
-                .findBySenderIdAndIsActiveTrue(userId)
-                .orElse(null);
+        // 송출 중 여부 / 반경은 read model 에서
+        ActiveBroadcast requesterBroadcast = readModel.get(userId);
 
         // 방송 중이 아니면 주변 유저를 찾을 필요가 없으므로 즉시 빈 리스트 반환
         if (requesterBroadcast == null) {
             log.info("[NEARBY] requester is not broadcasting. requesterId={}", userId);
-            return List.of();
+            return new NearbyPage(List.of(), null);
         }
 
         Point p = locationService.getLocation(userId);
         if (p == null) {
             log.warn("[NEARBY] no location requesterId={}", userId);
-            return List.of();
+            return new NearbyPage(List.of(), null);
         }
 
         double lat = p.getY();
         double lon = p.getX();
 
-        double radiusMeter = requesterBroadcast.getRadiusMeter();
-
-        List<Long> ids = locationService.findNearbyUsersWithRadius(
-                userId,
-                lat,
-                lon,
-                radiusMeter
-        );
+        double radiusMeter = Broadcast.radiusFor(
+                likeCounter.current(requesterBroadcast.broadcastId(), requesterBroadcast.likeCount()));
+
+        // cursor 뒤 후보를 가까운 순으로 보며 송출 중 + 음악 있는 유저만 size 명 채움
+        // (자르고 나서 거르면 페이지가 짧아지거나, 빈 페이지에 다음 cursor 가 붙음)
+        // size 명을 채운 뒤 조건을 만족하는 유저가 한 명 더 있을 때만 다음 cursor
+        NearbyResult candidates = locationService.findNearbyAfter(userId, lat, lon, radiusMeter, cursor);
+
+        List<ActiveBroadcast> broadcasts = new ArrayList<>(Math.min(size, candidates.size()));
+        List<Double> distances = new ArrayList<>(Math.min(size, candidates.size()));
+        String nextCursor = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            ActiveBroadcast b = withSong(candidates.idAt(i));
+            if (b == null) continue;
+
+            if (broadcasts.size() == size) {
+                int last = broadcasts.size() - 1;
+                nextCursor = new NearbyCursor(distances.get(last), broadcasts.get(last).senderId()).toString();
+                break;
+            }
+            broadcasts.add(b);
+            distances.add(candidates.distanceAt(i));
+        }
 
-        List<UserNearbyResponse> result = findUsersWithSong(ids);
+        List<UserNearbyResponse> result = toCards(broadcasts, distances);
 
-        log.info("[NEARBY] done requesterId={} found={}", userId, result.size());
-        return result;
+        log.info("[NEARBY] done requesterId={} found={} hasNext={}", userId, result.size(), nextCursor != null);
+        return new NearbyPage(result, nextCursor);
     }
 }
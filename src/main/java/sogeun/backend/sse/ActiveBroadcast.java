@@ -0,0 +1,38 @@
+package sogeun.backend.sse;
+
+import sogeun.backend.entity.Broadcast;
+import sogeun.backend.sse.dto.MusicDto;
+import sogeun.backend.sse.dto.UserNearbyResponse;
+
+import java.time.LocalDateTime;
+
+// 송출 중인 방송 하나의 불변 스냅샷 (ActiveBroadcastReadModel 의 값)
+public record ActiveBroadcast(
+        Long broadcastId,
+        Long senderId,
+        String nickname,
+        MusicDto music,
+        int likeCount,
+        int radiusMeter,
+        LocalDateTime startedAt
+) {
+
+    public ActiveBroadcast withMusic(MusicDto music) {
+        return new ActiveBroadcast(broadcastId, senderId, nickname, music, likeCount, radiusMeter, startedAt);
+    }
+
+    // 더 큰 값만 반영 (커밋 순서가 뒤바뀐 like 가 값을 되돌리지 않도록)
+    public ActiveBroadcast withLikes(int likeCount) {
+        if (likeCount <= this.likeCount) return this;
+        return new ActiveBroadcast(broadcastId, senderId, nickname, music, likeCount,
+                Broadcast.radiusFor(likeCount), startedAt);
+    }
+
+    public ActiveBroadcast withNickname(String nickname) {
+        return new ActiveBroadcast(broadcastId, senderId, nickname, music, likeCount, radiusMeter, startedAt);
+    }
+
+    public UserNearbyResponse toCard() {
+        return new UserNearbyResponse(senderId, nickname, true, broadcastId, music, radiusMeter, likeCount, null);
+    }
+}
@@ -0,0 +1,271 @@
+package sogeun.backend.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sogeun.backend.entity.Broadcast;
+import sogeun.backend.entity.User;
+import sogeun.backend.repository.BroadcastRepository;
+import sogeun.backend.repository.UserRepository;
+import sogeun.backend.sse.dto.MusicDto;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+// senderId → 송출 중인 방송 스냅샷 (내 방송 / 주변 방송 조회를 DB 없이)
+// turnOn / turnOff / like / changeMusic / 닉네임 변경 커밋 후에 갱신, 시작 시 broadcast 테이블에서 다시 만듦
+// 조회는 락 없이, 변경 / rebuild 교체는 this 락 (rebuild 는 새 맵을 만들어 통째로 교체 → 조회 중에 비는 순간 없음)
+// 멀티 노드 (listener 컨테이너가 있을 때): 변경 결과를 CHANNEL 로 publish 해서 모든 노드가 같은 순서로 반영
+// 자기 메시지도 다시 받아 반영 → 노드마다 Redis 가 정한 같은 순서의 마지막 값으로 수렴, 놓친 메시지는 resync 가 DB 로 복구
+@Slf4j
+@Component
+public class ActiveBroadcastReadModel {
+
+    private static final String CHANNEL = "broadcast:read-model";
+
+    private final BroadcastRepository broadcastRepository;
+    private final UserRepository userRepository;
+    private final BroadcastLikeCounter likeCounter;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    // publish 는 this 락 안에서 순서대로 넣고 이 스레드 하나가 보냄 (락 안에서 Redis 왕복 없음)
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "read-model-publish");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile boolean shared;
+
+    private volatile ConcurrentHashMap<Long, ActiveBroadcast> active = new ConcurrentHashMap<>();
+
+    // senderId → 끝난 방송 중 가장 큰 broadcastId (순서가 늦게 도착한 이전 방송 스냅샷이 되살아나지 않도록)
+    private final ConcurrentHashMap<Long, Long> endedUpTo = new ConcurrentHashMap<>();
+
+    // rebuild 의 DB 조회 이후 바뀐 senderId (rebuild 중이 아니면 null), 교체할 때 현재 값을 새 맵에 옮김
+    private Set<Long> changedDuringRebuild;
+
+    public ActiveBroadcastReadModel(
+            BroadcastRepository broadcastRepository,
+            UserRepository userRepository,
+            BroadcastLikeCounter likeCounter,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer
+    ) {
+        this.broadcastRepository = broadcastRepository;
+        this.userRepository = userRepository;
+        this.likeCounter = likeCounter;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        RedisMessageListenerContainer container = listenerContainer.getIfAvailable();
+        if (container == null) return;
+
+        container.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        shared = true;
+        log.info("[READ-MODEL] subscribed channel={}", CHANNEL);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdown();
+        try {
+            if (!publisher.awaitTermination(5, TimeUnit.SECONDS)) {
+                publisher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            publisher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        try {
+            List<Broadcast> broadcasts = broadcastRepository.findActiveWithMusic();
+            Map<Long, String> nicknames = userRepository
+                    .findAllById(broadcasts.stream().map(Broadcast::getSenderId).toList())
+                    .stream()
+                    .filter(u -> u.getNickname() != null)
+                    .collect(Collectors.toMap(User::getUserId, User::getNickname));
+            Map<Long, Integer> likes = likeCounter.currentAll(
+                    broadcasts.stream().map(Broadcast::getBroadcastId).toList());
+
+            ConcurrentHashMap<Long, ActiveBroadcast> rebuilt = new ConcurrentHashMap<>(broadcasts.size() * 2);
+            for (Broadcast b : broadcasts) {
+                int likeCount = Math.max(b.getLikeCount(), likes.getOrDefault(b.getBroadcastId(), 0));
+                rebuilt.put(b.getSenderId(), new ActiveBroadcast(
+                        b.getBroadcastId(),
+                        b.getSenderId(),
+                        nicknames.get(b.getSenderId()),
+                        MusicDto.from(b.getMusic()),
+                        likeCount,
+                        Broadcast.radiusFor(likeCount),
+                        b.getStartedAt()
+                ));
+            }
+
+            synchronized (this) {
+                // 조회 이후 커밋된 turnOn / turnOff / 갱신 (다른 노드 것 포함) 이 DB 스냅샷보다 최신
+                for (Long senderId : changedDuringRebuild) {
+                    ActiveBroadcast current = active.get(senderId);
+                    if (current == null) {
+                        rebuilt.remove(senderId);
+                    } else {
+                        rebuilt.put(senderId, current);
+                    }
+                }
+                active = rebuilt;
+            }
+            log.info("[READ-MODEL] rebuilt active={}", rebuilt.size());
+        } catch (Exception e) {
+            log.warn("[READ-MODEL] rebuild failed reason={}", e.toString());
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    // 멀티 노드에서 pub/sub 유실 (재연결 / 노드 재시작 중 메시지) 을 DB 기준으로 복구
+    @Scheduled(fixedDelayString = "${broadcast.read-model.resync-ms:60000}")
+    @Transactional(readOnly = true)
+    public void resync() {
+        if (shared) rebuild();
+    }
+
+    // 송출 중이 아니면 null
+    public ActiveBroadcast get(Long senderId) {
+        return active.get(senderId);
+    }
+
+    public synchronized void put(ActiveBroadcast broadcast) {
+        apply(broadcast.senderId(), broadcast.broadcastId(), broadcast, null);
+        publish(new Change(broadcast.senderId(), broadcast.broadcastId(), broadcast, null));
+    }
+
+    // broadcastId 방송이 끝남 (그보다 새 방송이 이미 들어와 있으면 그대로 둠)
+    public synchronized void remove(Long senderId, Long broadcastId) {
+        apply(senderId, broadcastId, null, null);
+        publish(new Change(senderId, broadcastId, null, null));
+    }
+
+    // 송출 중일 때만 갱신
+    public synchronized void update(Long senderId, UnaryOperator<ActiveBroadcast> change) {
+        ActiveBroadcast previous = active.get(senderId);
+        ActiveBroadcast updated = active.computeIfPresent(senderId, (id, b) -> change.apply(b));
+        changed(senderId);
+        if (updated != null && updated != previous) {
+            publish(new Change(senderId, updated.broadcastId(), updated, previous));
+        }
+    }
+
+    // this 락 안에서 호출, broadcast 가 null 이면 종료 / previous 가 있으면 갱신 (바뀐 필드만 반영)
+    private void apply(Long senderId, Long broadcastId, ActiveBroadcast broadcast, ActiveBroadcast previous) {
+        if (broadcast == null) {
+            endedUpTo.merge(senderId, broadcastId, Math::max);
+            active.computeIfPresent(senderId, (id, cur) -> cur.broadcastId() <= broadcastId ? null : cur);
+        } else if (broadcastId > endedUpTo.getOrDefault(senderId, 0L)) {
+            active.merge(senderId, broadcast, (cur, inc) -> {
+                if (inc.broadcastId() < cur.broadcastId()) return cur;
+                if (inc.broadcastId() > cur.broadcastId()) return inc;
+                // 같은 방송: 다른 노드에서 동시에 바뀐 필드를 덮지 않도록 이 변경이 바꾼 필드만, 좋아요 수는 줄지 않게
+                if (previous == null) return inc.withLikes(cur.likeCount());
+                return mergeChanged(cur, previous, inc);
+            });
+        }
+        changed(senderId);
+    }
+
+    private static ActiveBroadcast mergeChanged(ActiveBroadcast cur, ActiveBroadcast before, ActiveBroadcast after) {
+        ActiveBroadcast merged = cur.withLikes(after.likeCount());
+        if (!Objects.equals(before.nickname(), after.nickname())) {
+            merged = merged.withNickname(after.nickname());
+        }
+        if (!Objects.equals(trackId(before.music()), trackId(after.music()))) {
+            merged = merged.withMusic(after.music());
+        }
+        return merged;
+    }
+
+    private static Long trackId(MusicDto music) {
+        return music == null ? null : music.getTrackId();
+    }
+
+    // this 락 안에서 호출 → 이 노드에서 바뀐 순서대로 publish
+    private void publish(Change change) {
+        if (!shared) return;
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            log.warn("[READ-MODEL] encode failed senderId={}", change.senderId());
+            return;
+        }
+        try {
+            publisher.execute(() -> {
+                try {
+                    redisTemplate.convertAndSend(CHANNEL, payload);
+                } catch (Exception e) {
+                    log.warn("[READ-MODEL] publish failed senderId={} reason={}", change.senderId(), e.toString());
+                }
+            });
+        } catch (RuntimeException e) {
+            // 종료 중
+            log.warn("[READ-MODEL] publish rejected senderId={}", change.senderId());
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        try {
+            Change c = objectMapper.readValue(message.getBody(), Change.class);
+            synchronized (this) {
+                apply(c.senderId(), c.broadcastId(), c.broadcast(), c.previous());
+            }
+        } catch (IOException e) {
+            log.warn("[READ-MODEL] decode failed reason={}", e.toString());
+        }
+    }
+
+    // this 락 안에서 호출
+    private void changed(Long senderId) {
+        if (changedDuringRebuild != null) changedDuringRebuild.add(senderId);
+    }
+
+    // 노드 간 read model 변경 (broadcast 가 null 이면 broadcastId 방송 종료, previous 는 update 전 스냅샷)
+    public record Change(Long senderId, Long broadcastId, ActiveBroadcast broadcast, ActiveBroadcast previous) {}
+}
@@ -0,0 +1,402 @@
+package sogeun.backend.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.geo.Point;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sogeun.backend.common.util.LongHashSet;
+import sogeun.backend.entity.Broadcast;
+import sogeun.backend.entity.User;
+import sogeun.backend.repository.BroadcastRepository;
+import sogeun.backend.repository.UserRepository;
+import sogeun.backend.sse.dto.BroadcastEventDto;
+import sogeun.backend.sse.dto.MusicDto;
+import sogeun.backend.sse.dto.UserNearbyResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+// 송출자별 현재 청취 대상(반경 내 유저) 집합을 유지
+// - audiences: 송출자 → 대상 집합, listening: 유저 → 그 유저를 대상으로 둔 송출자 집합 (역인덱스)
+// - 위치가 바뀐 유저 기준으로 최대 반경 한 번 검색해서 양방향(내 대상 / 내가 속한 대상)을 같이 갱신
+// - fan-out 은 집합을 그대로 사용 (off 이벤트는 geo 검색 없음)
+// - 송출자별 방송 카드(닉네임/음악/좋아요/반경)도 같이 들고 있어서, nearby 구독 스냅샷을 DB 없이 만듦
+// 락: 유저별 이동 stripe → 유저별 역인덱스 stripe → 송출자 Audience 순서로만 잡음 (같은 종류 두 개를 같이 잡지 않음)
+// 집합은 이 노드 메모리에만 있음 (여러 노드면 위치 갱신이 같은 노드로 가야 정확함)
+@Slf4j
+@Component
+public class BroadcastAudienceTracker {
+
+    // Broadcast.calculateRadius 의 최대 반경
+    private static final int MAX_RADIUS_METER = 350;
+
+    private static final int STRIPES = 64;
+
+    private final LocationStore locationStore;
+    private final SseFanoutExecutor fanoutExecutor;
+    private final BroadcastRepository broadcastRepository;
+    private final UserRepository userRepository;
+    private final BroadcastLikeCounter likeCounter;
+
+    private final ConcurrentHashMap<Long, Audience> audiences = new ConcurrentHashMap<>();
+
+    // 값(LongHashSet)은 listenLock(userId) 안에서만 읽고 씀
+    private final ConcurrentHashMap<Long, LongHashSet> listening = new ConcurrentHashMap<>();
+
+    // 유저별 마지막으로 반영한 이동 순번 (moveLock(userId) 안에서만 씀), 늦게 끝난 이전 검색 결과는 버림
+    private final ConcurrentHashMap<Long, Long> appliedMoves = new ConcurrentHashMap<>();
+    private final AtomicLong moveSequence = new AtomicLong();
+
+    private final Object[] moveLocks = newLocks();
+    private final Object[] listenLocks = newLocks();
+
+    public BroadcastAudienceTracker(
+            LocationStore locationStore,
+            SseFanoutExecutor fanoutExecutor,
+            BroadcastRepository broadcastRepository,
+            UserRepository userRepository,
+            BroadcastLikeCounter likeCounter
+    ) {
+        this.locationStore = locationStore;
+        this.fanoutExecutor = fanoutExecutor;
+        this.broadcastRepository = broadcastRepository;
+        this.userRepository = userRepository;
+        this.likeCounter = likeCounter;
+    }
+
+    // 재시작 후 송출 중인 방송의 대상 집합 복구 (전송 없이 기준만 만듦)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        int restored = 0;
+        try {
+            List<Broadcast> active = broadcastRepository.findActiveWithMusic();
+            Map<Long, String> nicknames = userRepository
+                    .findAllById(active.stream().map(Broadcast::getSenderId).toList())
+                    .stream()
+                    .filter(u -> u.getNickname() != null)
+                    .collect(Collectors.toMap(User::getUserId, User::getNickname));
+
+            // DB 의 like_count / radius_meter 는 flush 전 값일 수 있음 → 카운터 값으로 반경 계산
+            Map<Long, Integer> likes = likeCounter.currentAll(active.stream().map(Broadcast::getBroadcastId).toList());
+
+            for (Broadcast b : active) {
+                Point p = locationStore.get(b.getSenderId());
+                if (p == null) continue;
+
+                int likeCount = Math.max(b.getLikeCount(), likes.getOrDefault(b.getBroadcastId(), 0));
+                int radius = Broadcast.radiusFor(likeCount);
+
+                NearbyResult nearby = locationStore.nearby(p.getY(), p.getX(), radius);
+                UserNearbyResponse card = new UserNearbyResponse(
+                        b.getSenderId(),
+                        nicknames.get(b.getSenderId()),
+                        true,
+                        b.getBroadcastId(),
+                        MusicDto.from(b.getMusic()),
+                        radius,
+                        likeCount,
+                        null
+                );
+                reset(b.getSenderId(), card, nearby.ids(b.getSenderId()));
+                restored++;
+            }
+            log.info("[AUDIENCE] rebuilt broadcasters={}", restored);
+        } catch (Exception e) {
+            log.warn("[AUDIENCE] rebuild failed reason={}", e.toString());
+        }
+    }
+
+    // 방송 시작 / 반경 변경 시 카드 + 대상 집합 교체
+    public void reset(Long senderId, UserNearbyResponse card, Collection<Long> targetUserIds) {
+        Audience next = new Audience(card);
+        Audience old = audiences.put(senderId, next);
+        if (old != null) detach(senderId, old);
+
+        for (Long id : targetUserIds) {
+            if (!id.equals(senderId)) join(senderId, next, id);
+        }
+    }
+
+    public UserNearbyResponse card(Long senderId) {
+        Audience a = audiences.get(senderId);
+        return (a == null) ? null : a.card;
+    }
+
+    // 카드 갱신 (음악 / 좋아요), 갱신을 받아야 할 현재 대상 목록 반환 (추적 중이 아니면 null)
+    // 반경 변경은 대상 집합도 바뀌므로 reset 으로
+    public List<Long> updateCard(Long senderId, UnaryOperator<UserNearbyResponse> change) {
+        Audience a = audiences.get(senderId);
+        if (a == null) return null;
+
+        synchronized (a) {
+            a.card = change.apply(a.card);
+            return a.members.toList();
+        }
+    }
+
+    // userId 를 대상에 둔 송출자들의 카드 (nearby 구독 스냅샷)
+    public List<UserNearbyResponse> nearbyOf(Long userId) {
+        long[] senders = listeningOf(userId);
+
+        List<UserNearbyResponse> cards = new ArrayList<>(senders.length);
+        for (long senderId : senders) {
+            Audience a = audiences.get(senderId);
+            if (a != null && a.card.music() != null) cards.add(a.card);
+        }
+        return cards;
+    }
+
+    // 방송 종료: 대상 집합을 떼어내서 반환 (off 전송 대상, 추적 중이 아니면 null)
+    public List<Long> remove(Long senderId) {
+        Audience a = audiences.remove(senderId);
+        if (a == null) return null;
+
+        long[] members = detach(senderId, a);
+        List<Long> result = new ArrayList<>(members.length);
+        for (long id : members) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    // 유저가 위치 인덱스에서 빠짐 (방송 종료 / 만료): 다른 송출자 대상 집합에서도 제거, 전송 없음
+    public void removeListener(Long userId) {
+        synchronized (listenLock(userId)) {
+            LongHashSet senders = listening.remove(userId);
+            if (senders != null) {
+                senders.forEach(senderId -> {
+                    Audience a = audiences.get(senderId);
+                    if (a != null) a.leave(userId);
+                });
+            }
+        }
+        synchronized (moveLock(userId)) {
+            appliedMoves.remove(userId);
+        }
+    }
+
+    // 유저 위치가 저장된 뒤 호출
+    // 1) 그 유저가 송출자면 자기 대상 집합 diff → 들어온 유저 on / 나간 유저 off
+    // 2) 다른 송출자 반경에 새로 들어가거나 나갔으면 그 유저에게 해당 송출자 on / off
+    public void onMove(Long userId, double lat, double lon) {
+        if (audiences.isEmpty()) return;
+
+        // 검색 전에 순번을 받아서, 같은 유저의 더 최근 이동이 먼저 반영됐으면 이 결과는 버림
+        long seq = moveSequence.incrementAndGet();
+        Audience own = audiences.get(userId);
+        int ownRadius = (own == null) ? 0 : own.radius();
+
+        NearbyResult nearby = locationStore.nearby(lat, lon, Math.max(MAX_RADIUS_METER, ownRadius));
+        apply(userId, seq, nearby);
+    }
+
+    // 배치로 저장된 여러 유저의 이동을 한 번에 (반경 검색은 nearbyAll 한 번 → Redis 한 번 왕복)
+    public void onMoveAll(long[] userIds, double[] lats, double[] lons, int size) {
+        if (size == 0 || audiences.isEmpty()) return;
+
+        long[] seqs = new long[size];
+        double[] radii = new double[size];
+        for (int i = 0; i < size; i++) {
+            seqs[i] = moveSequence.incrementAndGet();
+            Audience own = audiences.get(userIds[i]);
+            radii[i] = Math.max(MAX_RADIUS_METER, (own == null) ? 0 : own.radius());
+        }
+
+        NearbyResult[] nearby = locationStore.nearbyAll(lats, lons, radii, size);
+        for (int i = 0; i < size; i++) {
+            apply(userIds[i], seqs[i], nearby[i]);
+        }
+    }
+
+    // 이동 결과 반영 + 전송 (전송은 락 밖)
+    private void apply(Long userId, long seq, NearbyResult nearby) {
+        List<Long> joined = new ArrayList<>();
+        List<Long> left = new ArrayList<>();
+        List<Delivery> deliveries = new ArrayList<>();
+        Audience own;
+
+        synchronized (moveLock(userId)) {
+            Long applied = appliedMoves.get(userId);
+            if (applied != null && applied > seq) {
+                log.debug("[AUDIENCE] stale move dropped userId={} seq={} applied={}", userId, seq, applied);
+                return;
+            }
+            appliedMoves.put(userId, seq);
+
+            own = audiences.get(userId);
+            if (own != null) diffOwnAudience(userId, own, nearby, joined, left);
+            diffListening(userId, nearby, deliveries);
+        }
+
+        UserNearbyResponse ownCard = (own == null) ? null : own.card;
+        if (!joined.isEmpty() && ownCard.music() != null) {
+            fanoutExecutor.dispatch(joined, "broadcast.on", userId, BroadcastEventDto.on(ownCard));
+        }
+        if (!left.isEmpty()) {
+            fanoutExecutor.dispatch(left, "broadcast.off", userId, BroadcastEventDto.off(userId));
+        }
+        for (Delivery d : deliveries) {
+            BroadcastEventDto event = d.on ? BroadcastEventDto.on(d.card) : BroadcastEventDto.off(d.senderId);
+            fanoutExecutor.dispatch(List.of(userId), d.on ? "broadcast.on" : "broadcast.off", d.senderId, event);
+        }
+
+        if (!joined.isEmpty() || !left.isEmpty() || !deliveries.isEmpty()) {
+            log.debug("[AUDIENCE] moved userId={} joined={} left={} listening changes={}",
+                    userId, joined.size(), left.size(), deliveries.size());
+        }
+    }
+
+    // 송출자 본인의 대상 집합을 새 위치 기준으로 맞춤
+    private void diffOwnAudience(Long senderId, Audience own, NearbyResult nearby, List<Long> joined, List<Long> left) {
+        int radius = own.radius();
+        LongHashSet next = new LongHashSet(Math.max(nearby.size(), 8));
+        for (int i = 0; i < nearby.size(); i++) {
+            long id = nearby.idAt(i);
+            if (id == senderId || nearby.distanceAt(i) > radius) continue;
+
+            next.add(id);
+            if (join(senderId, own, id)) joined.add(id);
+        }
+
+        for (long id : own.snapshot()) {
+            if (!next.contains(id) && leave(senderId, own, id)) left.add(id);
+        }
+    }
+
+    // 주변 송출자 반경 안/밖 변화를 역인덱스에 반영
+    private void diffListening(Long userId, NearbyResult nearby, List<Delivery> deliveries) {
+        LongHashSet now = new LongHashSet();
+
+        for (int i = 0; i < nearby.size(); i++) {
+            long senderId = nearby.idAt(i);
+            if (senderId == userId) continue;
+
+            Audience a = audiences.get(senderId);
+            if (a == null || nearby.distanceAt(i) > a.radius()) continue;
+
+            now.add(senderId);
+            if (join(senderId, a, userId)) {
+                UserNearbyResponse card = a.card;
+                if (card.music() != null) deliveries.add(new Delivery(senderId, true, card));
+            }
+        }
+
+        for (long senderId : listeningOf(userId)) {
+            if (now.contains(senderId)) continue;
+
+            Audience a = audiences.get(senderId);
+            if (a != null && leave(senderId, a, userId)) {
+                deliveries.add(new Delivery(senderId, false, null));
+            }
+        }
+    }
+
+    // listener 를 송출자 대상에 추가, 새로 들어갔으면 true (이미 있거나 종료된 집합이면 false → 이벤트 없음)
+    private boolean join(long senderId, Audience a, long listener) {
+        synchronized (listenLock(listener)) {
+            synchronized (a) {
+                if (a.closed || !a.members.add(listener)) return false;
+            }
+            listening.computeIfAbsent(listener, k -> new LongHashSet()).add(senderId);
+            return true;
+        }
+    }
+
+    // listener 를 송출자 대상에서 제거, 실제로 빠졌으면 true
+    private boolean leave(long senderId, Audience a, long listener) {
+        synchronized (listenLock(listener)) {
+            synchronized (a) {
+                if (a.closed || !a.members.remove(listener)) return false;
+            }
+            unlisten(listener, senderId);
+            return true;
+        }
+    }
+
+    // 교체 / 종료된 집합을 닫고 역인덱스 정리, 닫을 때의 대상 반환
+    private long[] detach(long senderId, Audience a) {
+        long[] members;
+        synchronized (a) {
+            a.closed = true;
+            members = a.members.toArray();
+        }
+        for (long listener : members) {
+            synchronized (listenLock(listener)) {
+                unlisten(listener, senderId);
+            }
+        }
+        return members;
+    }
+
+    // listenLock(listener) 안에서 호출, 같은 송출자의 현재 집합에 들어 있으면 역인덱스 유지
+    private void unlisten(long listener, long senderId) {
+        Audience current = audiences.get(senderId);
+        if (current != null && current.contains(listener)) return;
+
+        LongHashSet senders = listening.get(listener);
+        if (senders != null && senders.remove(senderId) && senders.isEmpty()) {
+            listening.remove(listener);
+        }
+    }
+
+    private long[] listeningOf(long userId) {
+        synchronized (listenLock(userId)) {
+            LongHashSet senders = listening.get(userId);
+            return (senders == null) ? new long[0] : senders.toArray();
+        }
+    }
+
+    private Object moveLock(long userId) {
+        return moveLocks[Long.hashCode(userId) & (STRIPES - 1)];
+    }
+
+    private Object listenLock(long userId) {
+        return listenLocks[Long.hashCode(userId) & (STRIPES - 1)];
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    // members / closed 는 이 객체 락 안에서만, card 는 락 안에서 바꾸고 락 없이 읽음
+    private static final class Audience {
+        private volatile UserNearbyResponse card;
+        private final LongHashSet members = new LongHashSet();
+        private boolean closed;
+
+        private Audience(UserNearbyResponse card) {
+            this.card = card;
+        }
+
+        private int radius() {
+            return card.radiusMeter();
+        }
+
+        private synchronized boolean contains(long id) {
+            return members.contains(id);
+        }
+
+        private synchronized void leave(long id) {
+            members.remove(id);
+        }
+
+        private synchronized long[] snapshot() {
+            return members.toArray();
+        }
+    }
+
+    private record Delivery(long senderId, boolean on, UserNearbyResponse card) {}
+}
@@ -7,9 +7,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import sogeun.backend.sse.dto.BroadcastChangeMusicRequest;
 import sogeun.backend.sse.dto.BroadcastOnRequest;
+import sogeun.backend.sse.dto.BroadcastLikeResponse;
 import sogeun.backend.sse.dto.BroadcastLikeRequest;
 import sogeun.backend.sse.dto.MyBroadcastResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 import static sogeun.backend.security.SecurityUtil.extractUserId;
 
 @Slf4j
@@ -18,9 +21,11 @@ import static sogeun.backend.security.SecurityUtil.extractUserId;
 public class BroadcastController {
 
     private final BroadcastService broadcastService;
+    private final BroadcastLikeBatcher likeBatcher;
 
-    public BroadcastController(BroadcastService broadcastService) {
+    public BroadcastController(BroadcastService broadcastService, BroadcastLikeBatcher likeBatcher) {
         this.broadcastService = broadcastService;
+        this.likeBatcher = likeBatcher;
     }
 
     @PostMapping("/on")
@@ -41,14 +46,14 @@ public class BroadcastController {
     }
 
 
+    // 같은 방송 좋아요는 짧은 window 동안 모아서 한 번에 반영 (응답은 반영 후 좋아요 수 / 반경)
     @PostMapping("/{broadcastId}/likes")
-    public ResponseEntity<Void> like(
+    public CompletableFuture<ResponseEntity<BroadcastLikeResponse>> like(
             @PathVariable Long broadcastId,
             Authentication authentication
     ) {
         Long likerUserId = extractUserId(authentication);
-        broadcastService.like(broadcastId, likerUserId);
-        return ResponseEntity.ok().build();
+        return likeBatcher.submit(broadcastId, likerUserId).thenApply(ResponseEntity::ok);
     }
 
     //방송 음악 변경
@@ -0,0 +1,203 @@
+package sogeun.backend.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import sogeun.backend.common.error.AppException;
+import sogeun.backend.common.error.ErrorCode;
+import sogeun.backend.sse.dto.BroadcastLikeResponse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 같은 broadcastId 로 window 동안 몰린 좋아요를 한 번에 처리
+// window 당 카운터 증가 한 번 + 반경 계산 한 번 + audience diff / fan-out 최대 한 번, 요청마다 반영 결과로 응답
+// 공용 TaskScheduler 는 window 종료 시각에 flush 를 넘기기만 하고, 실제 처리(DB / geo)는 전용 flush 풀에서
+// → 좋아요가 몰려도 같은 scheduler 를 쓰는 카운터 flush / sweeper 가 밀리지 않음
+@Slf4j
+@Component
+public class BroadcastLikeBatcher {
+
+    private final BroadcastService broadcastService;
+    private final BroadcastLikeDedup likeDedup;
+    private final TaskScheduler taskScheduler;
+    private final long windowMillis;
+    private final ThreadPoolExecutor flushExecutor;
+
+    private final Timer flushTimer;
+    private final Counter rejectedCounter;
+
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    // 종료 중이면 새 좋아요는 받지 않음
+    private volatile boolean closed;
+
+    public BroadcastLikeBatcher(
+            BroadcastService broadcastService,
+            BroadcastLikeDedup likeDedup,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${broadcast.like.batch-window-ms:20}") long windowMillis,
+            @Value("${broadcast.like.flush-threads:8}") int flushThreads,
+            @Value("${broadcast.like.flush-queue-capacity:1000}") int flushQueueCapacity
+    ) {
+        this.broadcastService = broadcastService;
+        this.likeDedup = likeDedup;
+        this.taskScheduler = taskScheduler;
+        this.windowMillis = windowMillis;
+
+        int threads = Math.max(1, flushThreads);
+        this.flushExecutor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                30L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, flushQueueCapacity)),
+                new CustomizableThreadFactory("like-flush-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.flushExecutor.allowCoreThreadTimeOut(true);
+
+        this.flushTimer = Timer.builder("broadcast.like.flush.duration")
+                .description("좋아요 batch 하나를 반영하는 데 걸린 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("broadcast.like.flush.rejected")
+                .description("flush 큐 포화로 거절된 좋아요 batch 수")
+                .register(meterRegistry);
+        Gauge.builder("broadcast.like.flush.queue.depth", flushExecutor, e -> e.getQueue().size())
+                .description("대기 중인 좋아요 batch 수")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<BroadcastLikeResponse> submit(Long broadcastId, Long likerUserId) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new AppException(ErrorCode.LIKE_BUSY));
+        }
+
+        // 이번 세션에 이미 좋아요 한 유저는 DB / geo 작업 전에 거절
+        if (!likeDedup.tryLike(broadcastId, likerUserId)) {
+            return CompletableFuture.failedFuture(new AppException(ErrorCode.BROADCAST_ALREADY_LIKED));
+        }
+
+        if (windowMillis <= 0) {
+            try {
+                return CompletableFuture.completedFuture(broadcastService.like(broadcastId, 1));
+            } catch (RuntimeException e) {
+                likeDedup.forget(broadcastId, likerUserId);
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<BroadcastLikeResponse> result = new CompletableFuture<>();
+        boolean[] opened = {false};
+        pending.compute(broadcastId, (id, p) -> {
+            if (p == null) {
+                p = new Pending();
+                opened[0] = true;
+            }
+            p.waiters.add(result);
+            p.likers.add(likerUserId);
+            return p;
+        });
+
+        // shutdown 과 엇갈려 들어온 window 는 기다리지 않고 실패 처리
+        if (closed) {
+            failPending(new AppException(ErrorCode.LIKE_BUSY));
+            return result;
+        }
+
+        // window 의 첫 좋아요만 flush 예약 (scheduler 스레드는 flush 풀에 넘기기만 함)
+        if (opened[0]) {
+            taskScheduler.schedule(() -> handOff(broadcastId), Instant.now().plusMillis(windowMillis));
+        }
+        return result;
+    }
+
+    // 열려 있는 window 는 예약 시각을 기다리지 않고 바로 flush, 끝날 때까지 기다린 뒤
+    // 그래도 못 나간 batch 는 실패로 응답 (요청이 응답 없이 남지 않도록)
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        for (Long broadcastId : new ArrayList<>(pending.keySet())) {
+            handOff(broadcastId);
+        }
+
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                flushExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            flushExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        failPending(new AppException(ErrorCode.LIKE_BUSY));
+    }
+
+    private void failPending(RuntimeException e) {
+        for (Long broadcastId : new ArrayList<>(pending.keySet())) {
+            Pending p = pending.remove(broadcastId);
+            if (p != null) fail(broadcastId, p, e);
+        }
+    }
+
+    private void handOff(Long broadcastId) {
+        try {
+            flushExecutor.execute(() -> flush(broadcastId));
+        } catch (RejectedExecutionException e) {
+            // 큐가 꽉 참 → 이번 window 는 실패 응답, 다시 누를 수 있도록 기록 해제
+            rejectedCounter.increment();
+            Pending p = pending.remove(broadcastId);
+            if (p != null) fail(broadcastId, p, new AppException(ErrorCode.LIKE_BUSY));
+        }
+    }
+
+    private void flush(Long broadcastId) {
+        Pending p = pending.remove(broadcastId);
+        if (p == null) return;
+
+        int count = p.waiters.size();
+        long started = System.nanoTime();
+        try {
+            BroadcastLikeResponse response = broadcastService.like(broadcastId, count);
+            log.debug("[BROADCAST-LIKE] batched broadcastId={} likes={} likeCount={}",
+                    broadcastId, count, response.likeCount());
+            for (CompletableFuture<BroadcastLikeResponse> waiter : p.waiters) {
+                waiter.complete(response);
+            }
+        } catch (RuntimeException e) {
+            fail(broadcastId, p, e);
+        } finally {
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void fail(Long broadcastId, Pending p, RuntimeException e) {
+        for (Long likerUserId : p.likers) {
+            likeDedup.forget(broadcastId, likerUserId);
+        }
+        for (CompletableFuture<BroadcastLikeResponse> waiter : p.waiters) {
+            waiter.completeExceptionally(e);
+        }
+    }
+
+    // ConcurrentHashMap.compute / remove 안에서만 접근
+    private static final class Pending {
+        private final List<CompletableFuture<BroadcastLikeResponse>> waiters = new ArrayList<>();
+        private final List<Long> likers = new ArrayList<>();
+    }
+}
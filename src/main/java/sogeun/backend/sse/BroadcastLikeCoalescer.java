@@ -0,0 +1,107 @@
+package sogeun.backend.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import sogeun.backend.sse.dto.BroadcastLikeEventDto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// broadcast.like 이벤트 합치기
+// 송출자별로 window 동안 들어온 like 중 최신 값(좋아요 수/반경)만 남기고, window 끝에 한 번만 fan-out
+// 키는 송출자만 씀: window 동안의 청취자를 합쳐 최신 값 하나를 보내므로 청취자마다 (청취자, 송출자) 당 window 에 한 번만 받음
+// broadcast.on / off 는 여기를 거치지 않고 바로 전송됨
+@Slf4j
+@Component
+public class BroadcastLikeCoalescer {
+
+    private static final String EVENT_NAME = "broadcast.like";
+
+    private final SseFanoutExecutor fanoutExecutor;
+    private final TaskScheduler taskScheduler;
+    private final long windowMillis;
+
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    public BroadcastLikeCoalescer(
+            SseFanoutExecutor fanoutExecutor,
+            TaskScheduler taskScheduler,
+            @Value("${broadcast.like.coalesce-window-ms:250}") long windowMillis
+    ) {
+        this.fanoutExecutor = fanoutExecutor;
+        this.taskScheduler = taskScheduler;
+        this.windowMillis = windowMillis;
+    }
+
+    public void submit(Long senderId, Collection<Long> targetUserIds, BroadcastLikeEventDto event) {
+        if (targetUserIds.isEmpty()) return;
+
+        if (windowMillis <= 0) {
+            fanoutExecutor.dispatch(new ArrayList<>(targetUserIds), EVENT_NAME, senderId, event);
+            return;
+        }
+
+        while (true) {
+            boolean[] opened = {false};
+            Pending p = pending.computeIfAbsent(senderId, id -> {
+                opened[0] = true;
+                return new Pending();
+            });
+
+            synchronized (p) {
+                // flush 가 끝난 window → 맵에서 빼고 새 window 로 다시
+                if (p.done) {
+                    pending.remove(senderId, p);
+                    continue;
+                }
+                // 늦게 커밋된 이전 like 가 최신 값을 덮어쓰지 않도록
+                if (p.latest == null || event.getLikeCount() >= p.latest.getLikeCount()) {
+                    p.latest = event;
+                }
+                p.listeners.addAll(targetUserIds);
+            }
+
+            // window 의 첫 like 만 flush 예약
+            if (opened[0]) {
+                taskScheduler.schedule(() -> flush(senderId, p), Instant.now().plusMillis(windowMillis));
+            }
+            return;
+        }
+    }
+
+    // 방송 종료 시 아직 안 나간 like 는 버림 (off 뒤에 like 가 도착하지 않도록)
+    // 진행 중인 flush 가 있으면 그 dispatch 가 끝난 뒤 반환 → 이후 off 는 같은 lane 에서 like 뒤로
+    public void cancel(Long senderId) {
+        Pending p = pending.remove(senderId);
+        if (p == null) return;
+        synchronized (p) {
+            p.done = true;
+        }
+    }
+
+    // dispatch 는 맵 bin 락 밖, 이 window 의 락 안에서
+    // (lane 이 밀려 dispatch 가 막혀도 같은 bin 의 다른 송출자 submit / cancel 은 진행, cancel 과의 순서만 보장)
+    private void flush(Long senderId, Pending p) {
+        synchronized (p) {
+            if (p.done) return;
+            p.done = true;
+            log.debug("[BROADCAST-LIKE] coalesced senderId={} likeCount={} listeners={}",
+                    senderId, p.latest.getLikeCount(), p.listeners.size());
+            fanoutExecutor.dispatch(new ArrayList<>(p.listeners), EVENT_NAME, senderId, p.latest);
+        }
+        pending.remove(senderId, p);
+    }
+
+    // synchronized (pending) 안에서만 접근
+    private static final class Pending {
+        private boolean done;
+        private BroadcastLikeEventDto latest;
+        private final Set<Long> listeners = new HashSet<>();
+    }
+}
@@ -0,0 +1,277 @@
+package sogeun.backend.sse;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sogeun.backend.entity.Broadcast;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 방송 좋아요 수 write-behind 카운터 (좋아요마다 broadcast 행 락을 잡지 않음)
+// 좋아요는 카운터만 올리고, flush 주기마다 바뀐 방송의 like_count / radius_meter 를 JDBC batch 한 번으로 기록
+// broadcast.like-counter=memory(단일 노드) | redis(여러 노드 공유, INCR)
+// memory 카운터는 종료된 방송이면 마지막 flush 뒤에, 송출 중이어도 flush 된 뒤 오래 좋아요가 없으면 정리
+@Slf4j
+@Component
+public class BroadcastLikeCounter {
+
+    private static final String KEY_PREFIX = "broadcast:like:";
+    private static final String DIRTY_KEY = "broadcast:like:dirty";
+
+    // 종료된 방송의 Redis 카운터는 남은 flush 가 끝날 시간만큼 두고 만료
+    private static final Duration ENDED_TTL = Duration.ofMinutes(10);
+
+    // 늦게 flush 된 이전 값이 더 큰 값을 덮어쓰지 않도록 like_count < ? 조건
+    private static final String FLUSH_SQL =
+            "update broadcast set like_count = ?, radius_meter = ?, updated_at = ? "
+                    + "where broadcast_id = ? and like_count < ?";
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean redisMode;
+    private final int flushBatchSize;
+    private final long idleMillis;
+
+    // memory 모드: broadcastId → 카운터 (처음 좋아요 때 DB 값으로 시작)
+    private final ConcurrentHashMap<Long, Counter> local = new ConcurrentHashMap<>();
+
+    public BroadcastLikeCounter(
+            StringRedisTemplate redisTemplate,
+            JdbcTemplate jdbcTemplate,
+            @Value("${broadcast.like-counter:memory}") String mode,
+            @Value("${broadcast.like.flush-batch-size:500}") int flushBatchSize,
+            @Value("${broadcast.like.counter-idle-ms:60000}") long idleMillis
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisMode = "redis".equalsIgnoreCase(mode);
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+        this.idleMillis = idleMillis;
+    }
+
+    // 좋아요 n 증가 후 값 (persisted = 카운터가 없을 때 시작값으로 쓸 DB like_count)
+    // redis: SETNX + INCRBY + SADD dirty (+ PERSIST) 를 pipeline 한 번 왕복으로
+    // memory: compute 안에서 올림 (flush 뒤 정리와 엇갈려 지워진 카운터에 더하지 않도록)
+    public int add(Long broadcastId, int persisted, int n) {
+        if (redisMode) {
+            String key = KEY_PREFIX + broadcastId;
+            List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.opsForValue().setIfAbsent(key, Integer.toString(persisted));
+                    ops.opsForValue().increment(key, n);
+                    ops.opsForSet().add(DIRTY_KEY, broadcastId.toString());
+                    // 같은 방송이 다시 켜졌으면 종료 때 건 만료를 풀어 둠
+                    ops.persist(key);
+                    return null;
+                }
+            });
+            Object count = results.get(1);
+            return (count instanceof Long c) ? c.intValue() : persisted + n;
+        }
+
+        long now = System.currentTimeMillis();
+        int[] count = new int[1];
+        local.compute(broadcastId, (id, counter) -> {
+            if (counter == null) counter = new Counter(persisted);
+            count[0] = counter.count.addAndGet(n);
+            counter.lastAddedAt = now;
+            return counter;
+        });
+        return count[0];
+    }
+
+    // 트랜잭션이 롤백된 좋아요 n 개 되돌리기
+    public void undo(Long broadcastId, int n) {
+        if (redisMode) {
+            redisTemplate.opsForValue().decrement(KEY_PREFIX + broadcastId, n);
+            return;
+        }
+        local.computeIfPresent(broadcastId, (id, counter) -> {
+            counter.count.addAndGet(-n);
+            return counter;
+        });
+    }
+
+    // 방송 종료 (남은 값은 다음 flush 에 기록되고, memory 카운터는 그 뒤 정리 / Redis 키는 만료)
+    public void end(Long broadcastId) {
+        if (redisMode) {
+            try {
+                redisTemplate.expire(KEY_PREFIX + broadcastId, ENDED_TTL);
+            } catch (Exception e) {
+                log.warn("[LIKE-FLUSH] expire failed broadcastId={} reason={}", broadcastId, e.toString());
+            }
+            return;
+        }
+        Counter counter = local.get(broadcastId);
+        if (counter != null) counter.ended = true;
+    }
+
+    // 현재 좋아요 수 (카운터가 없으면 persisted)
+    public int current(Long broadcastId, int persisted) {
+        if (redisMode) {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + broadcastId);
+            return (value == null) ? persisted : Math.max(persisted, Integer.parseInt(value));
+        }
+        Counter counter = local.get(broadcastId);
+        return (counter == null) ? persisted : Math.max(persisted, counter.count.get());
+    }
+
+    // 여러 방송의 현재 좋아요 수 (카운터가 있는 방송만, Redis 는 MGET 한 번)
+    public Map<Long, Integer> currentAll(Collection<Long> broadcastIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        if (broadcastIds.isEmpty()) return result;
+
+        if (redisMode) {
+            List<Long> ids = new ArrayList<>(broadcastIds);
+            List<String> keys = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                keys.add(KEY_PREFIX + id);
+            }
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) return result;
+            for (int i = 0; i < ids.size(); i++) {
+                if (values.get(i) != null) result.put(ids.get(i), Integer.parseInt(values.get(i)));
+            }
+            return result;
+        }
+
+        for (Long id : broadcastIds) {
+            Counter counter = local.get(id);
+            if (counter != null) result.put(id, counter.count.get());
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${broadcast.like.flush-interval-ms:1000}")
+    public void flush() {
+        try {
+            int written = redisMode ? flushRedis() : flushLocal();
+            if (written > 0) {
+                log.debug("[LIKE-FLUSH] mode={} broadcasts={}", redisMode ? "redis" : "memory", written);
+            }
+        } catch (Exception e) {
+            log.warn("[LIKE-FLUSH] failed reason={}", e.toString());
+        }
+    }
+
+    // 종료 전에 남은 좋아요 수 기록
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    private int flushLocal() {
+        List<Object[]> rows = new ArrayList<>();
+        List<Counter> flushed = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+
+        for (Map.Entry<Long, Counter> entry : local.entrySet()) {
+            Counter counter = entry.getValue();
+            int count = counter.count.get();
+            if (count == counter.flushed) continue;
+
+            rows.add(row(entry.getKey(), count));
+            flushed.add(counter);
+            values.add(count);
+        }
+
+        if (!rows.isEmpty()) {
+            write(rows);
+            for (int i = 0; i < flushed.size(); i++) {
+                flushed.get(i).flushed = values.get(i);
+            }
+        }
+        prune();
+        return rows.size();
+    }
+
+    // 기록이 끝난 카운터 중 종료됐거나 idle-ms 동안 좋아요가 없던 것 제거
+    // 다음 좋아요는 DB 에 기록된 값(= flushed)에서 다시 시작
+    private void prune() {
+        long idleBefore = System.currentTimeMillis() - idleMillis;
+        for (Map.Entry<Long, Counter> entry : local.entrySet()) {
+            Counter c = entry.getValue();
+            if (c.count.get() != c.flushed || (!c.ended && c.lastAddedAt > idleBefore)) continue;
+
+            local.computeIfPresent(entry.getKey(), (id, counter) ->
+                    (counter.count.get() == counter.flushed) ? null : counter);
+        }
+    }
+
+    // dirty 집합에서 batch 크기만큼 꺼내서 기록 (실패하면 다시 dirty 로)
+    private int flushRedis() {
+        List<String> ids = redisTemplate.opsForSet().pop(DIRTY_KEY, flushBatchSize);
+        if (ids == null || ids.isEmpty()) return 0;
+
+        List<String> keys = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            keys.add(KEY_PREFIX + id);
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String value = (values == null) ? null : values.get(i);
+            if (value == null) continue;
+            rows.add(row(Long.valueOf(ids.get(i)), Integer.parseInt(value)));
+        }
+
+        try {
+            write(rows);
+        } catch (RuntimeException e) {
+            redisTemplate.opsForSet().add(DIRTY_KEY, ids.toArray(new String[0]));
+            throw e;
+        }
+        return rows.size();
+    }
+
+    private void write(List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += flushBatchSize) {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, rows.subList(from, Math.min(rows.size(), from + flushBatchSize)));
+        }
+    }
+
+    private static Object[] row(Long broadcastId, int count) {
+        return new Object[]{
+                count,
+                Broadcast.radiusFor(count),
+                new Timestamp(System.currentTimeMillis()),
+                broadcastId,
+                count
+        };
+    }
+
+    private static final class Counter {
+        private final AtomicInteger count;
+
+        // 마지막으로 DB 에 기록한 값 (flush 스레드만 씀)
+        private volatile int flushed;
+
+        // 마지막 좋아요 시각 / 방송 종료 여부 (정리 판단용)
+        private volatile long lastAddedAt;
+        private volatile boolean ended;
+
+        private Counter(int persisted) {
+            this.count = new AtomicInteger(persisted);
+            this.flushed = persisted;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package sogeun.backend.sse;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import sogeun.backend.common.util.LongHashSet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 방송 세션당 청취자 1인 1좋아요
+// 방송별 좋아요한 userId 를 LongHashSet 으로 보관 (boxing 없음, 추가 / 조회 O(1)) → 중복은 DB / geo 작업 전에 거절
+// broadcast.like-dedup=memory(단일 노드) | redis(SADD 로 노드 간 공유, 로컬 집합은 중복 빠른 거절용)
+@Slf4j
+@Component
+public class BroadcastLikeDedup {
+
+    private static final String KEY_PREFIX = "broadcast:likers:";
+    private static final String RESET_CHANNEL = "broadcast:likers:reset";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+    private final boolean redisMode;
+
+    // redis 모드에서 초기화 메시지를 못 받으면 로컬 집합이 이전 세션 기록을 들고 있으므로 쓰지 않음
+    private volatile boolean localFastPath = true;
+
+    private final ConcurrentHashMap<Long, Likers> local = new ConcurrentHashMap<>();
+
+    public BroadcastLikeDedup(
+            StringRedisTemplate redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+            @Value("${broadcast.like-dedup:memory}") String mode
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.redisMode = "redis".equalsIgnoreCase(mode);
+    }
+
+    // 다른 노드에서 세션이 바뀌면 로컬 집합도 비움
+    @PostConstruct
+    public void subscribe() {
+        if (!redisMode) return;
+
+        RedisMessageListenerContainer container = listenerContainer.getIfAvailable();
+        if (container == null) {
+            localFastPath = false;
+            log.error("[LIKE-DEDUP] redis mode without RedisMessageListenerContainer, "
+                    + "reset messages cannot be received → local fast path disabled (every like goes to redis)");
+            return;
+        }
+
+        container.addMessageListener(this::onReset, new ChannelTopic(RESET_CHANNEL));
+    }
+
+    // 이번 세션 첫 좋아요면 true (기록까지 함), 이미 좋아요 했으면 false
+    public boolean tryLike(Long broadcastId, Long likerUserId) {
+        boolean useLocal = !redisMode || localFastPath;
+        if (useLocal && likedLocally(broadcastId, likerUserId)) return false;
+
+        if (redisMode) {
+            try {
+                Long added = redisTemplate.opsForSet().add(KEY_PREFIX + broadcastId, likerUserId.toString());
+                if (added != null) {
+                    // 0 = 다른 노드에서 이미 좋아요
+                    if (useLocal) remember(broadcastId, likerUserId);
+                    return added > 0;
+                }
+            } catch (Exception e) {
+                log.warn("[LIKE-DEDUP] redis add failed broadcastId={} reason={}", broadcastId, e.toString());
+            }
+        }
+        return remember(broadcastId, likerUserId);
+    }
+
+    // 좋아요 반영이 실패했을 때 다시 누를 수 있도록
+    public void forget(Long broadcastId, Long likerUserId) {
+        Likers likers = local.get(broadcastId);
+        if (likers != null) {
+            synchronized (likers) {
+                if (!likers.retired && likers.ids.remove(likerUserId) && likers.ids.isEmpty()) {
+                    // 비었으면 맵에서 뺌 (그 사이 새 집합으로 바뀌었으면 그대로 둠)
+                    likers.retired = true;
+                    local.remove(broadcastId, likers);
+                }
+            }
+        }
+
+        if (redisMode) {
+            try {
+                redisTemplate.opsForSet().remove(KEY_PREFIX + broadcastId, likerUserId.toString());
+            } catch (Exception e) {
+                log.warn("[LIKE-DEDUP] redis remove failed broadcastId={} reason={}", broadcastId, e.toString());
+            }
+        }
+    }
+
+    // 방송 세션 시작 / 종료 시 좋아요 기록 초기화
+    public void reset(Long broadcastId) {
+        retire(broadcastId);
+        if (!redisMode) return;
+
+        try {
+            redisTemplate.delete(KEY_PREFIX + broadcastId);
+            redisTemplate.convertAndSend(RESET_CHANNEL, broadcastId.toString());
+        } catch (Exception e) {
+            log.warn("[LIKE-DEDUP] redis reset failed broadcastId={} reason={}", broadcastId, e.toString());
+        }
+    }
+
+    private void onReset(Message message, byte[] pattern) {
+        try {
+            retire(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("[LIKE-DEDUP] bad reset message");
+        }
+    }
+
+    private boolean likedLocally(Long broadcastId, long likerUserId) {
+        Likers likers = local.get(broadcastId);
+        if (likers == null) return false;
+        synchronized (likers) {
+            return !likers.retired && likers.ids.contains(likerUserId);
+        }
+    }
+
+    // 로컬 집합에 기록, 새로 들어갔으면 true (reset / forget 으로 버려진 집합이면 새 집합에 다시)
+    private boolean remember(Long broadcastId, long likerUserId) {
+        while (true) {
+            Likers likers = local.computeIfAbsent(broadcastId, id -> new Likers());
+            synchronized (likers) {
+                if (!likers.retired) return likers.ids.add(likerUserId);
+            }
+        }
+    }
+
+    // 맵에서 떼어내고 버려진 집합으로 표시 (이미 집합을 잡은 tryLike 는 새 집합으로 다시 시도)
+    private void retire(Long broadcastId) {
+        Likers likers = local.remove(broadcastId);
+        if (likers == null) return;
+        synchronized (likers) {
+            likers.retired = true;
+        }
+    }
+
+    // 필드는 이 객체 락 안에서만 접근
+    private static final class Likers {
+        private final LongHashSet ids = new LongHashSet();
+        private boolean retired;
+    }
+}
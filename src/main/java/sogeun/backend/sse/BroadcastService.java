@@ -3,16 +3,13 @@ package sogeun.backend.sse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.geo.Point;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import sogeun.backend.common.error.AppException;
 import sogeun.backend.common.error.ErrorCode;
 import sogeun.backend.entity.Broadcast;
-import sogeun.backend.entity.BroadcastMusicLike;
 import sogeun.backend.entity.Music;
-import sogeun.backend.repository.BroadcastMusicLikeRepository;
+import sogeun.backend.entity.User;
 import sogeun.backend.repository.BroadcastRepository;
 import sogeun.backend.repository.UserRepository;
 import sogeun.backend.service.MusicService;
@@ -21,24 +18,26 @@ import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 
-import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BroadcastService {
 
-    private final SseEmitterRegistry registry;
     private final LocationService locationService;
     private final BroadcastRepository broadcastRepository;
     private final UserRepository userRepository;
     private final MusicService musicService;
-    private final BroadcastMusicLikeRepository broadcastMusicLikeRepository;
     private final SseEmitterRegistry sseEmitterRegistry;
-
-    private final Set<Long> activeSenders = ConcurrentHashMap.newKeySet();
+    private final SseFanoutExecutor fanoutExecutor;
+    private final BroadcastLikeCoalescer likeCoalescer;
+    private final BroadcastAudienceTracker audienceTracker;
+    private final BroadcastLikeCounter likeCounter;
+    private final SongLikeAggregator songLikes;
+    private final BroadcastLikeDedup likeDedup;
+    private final ActiveBroadcastReadModel readModel;
 
     @Transactional
     public void turnOn(Long senderId, double lat, double lon, MusicDto music) {
@@ -56,20 +55,43 @@ public class BroadcastService {
         broadcast.updateCurrentMusic(musicEntity);
         broadcast.activate();
 
-        broadcast.updateRadiusByLikes();
+        // 아직 flush 안 된 좋아요까지 반영한 반경
+        broadcast.applyLikeCount(likeCounter.current(broadcast.getBroadcastId(), broadcast.getLikeCount()));
         int radius = broadcast.getRadiusMeter();
+        Long broadcastId = broadcast.getBroadcastId();
+
+        String nickname = userRepository.findById(senderId).map(User::getNickname).orElse(null);
+        UserNearbyResponse card = new UserNearbyResponse(
+                senderId, nickname, true, broadcastId, music, radius, broadcast.getLikeCount(), null);
+        BroadcastEventDto event = BroadcastEventDto.on(card);
+
+        ActiveBroadcast snapshot = new ActiveBroadcast(broadcastId, senderId, nickname, music,
+                broadcast.getLikeCount(), radius, LocalDateTime.now());
+
+        // 좋아요 기록 / 대상 집합 / 위치 / on 전송은 커밋된 뒤에만 (롤백되면 아무것도 안 바뀜)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // 새 방송 세션 → 좋아요 기록 초기화
+                likeDedup.reset(broadcastId);
 
-        locationService.saveLocation(senderId, lat, lon);
+                // 위치 저장 전에 송출 중으로 표시 (saveLocation 이 read model 로 송출 여부 확인)
+                readModel.put(snapshot);
 
-        List<Long> targetUserIds =
-                locationService.findNearbyUsersWithRadius(senderId, lat, lon, radius);
+                // 이전 방송의 대상 목록으로 이동 diff 가 나가지 않도록 먼저 비움
+                audienceTracker.remove(senderId);
+                locationService.saveLocation(senderId, lat, lon);
 
-        BroadcastEventDto event = BroadcastEventDto.on(senderId, music);
+                List<Long> targetUserIds =
+                        locationService.findNearbyUsersWithRadius(senderId, lat, lon, radius);
+                audienceTracker.reset(senderId, card, targetUserIds);
 
-        activeSenders.add(senderId);
-        sendToTargets(targetUserIds, "broadcast.on", senderId, event);
+                sendToTargets(targetUserIds, "broadcast.on", senderId, event);
 
-        log.info("[BROADCAST-ON] done senderId={} radius={} targets={}", senderId, radius, targetUserIds.size());
+                log.info("[BROADCAST-ON] done senderId={} radius={} targets={}",
+                        senderId, radius, targetUserIds.size());
+            }
+        });
     }
 
 
@@ -77,28 +99,34 @@ public class BroadcastService {
     public void turnOff(Long senderId) {
         log.info("[BROADCAST-OFF] senderId={}", senderId);
 
-        activeSenders.remove(senderId);
-
         Broadcast broadcast = broadcastRepository.findBySenderIdForUpdate(senderId)
                 .orElseThrow(() -> new AppException(ErrorCode.BROADCAST_NOT_FOUND));
 
-        int radius = broadcast.getRadiusMeter();
-        Point p = locationService.getLocation(senderId);
+        // DB 반경은 카운터 flush 전일 수 있으므로 현재 좋아요 수로 계산
+        Long broadcastId = broadcast.getBroadcastId();
+        int radius = Broadcast.radiusFor(likeCounter.current(broadcastId, broadcast.getLikeCount()));
 
         broadcast.deactivate();
 
-        final List<Long> targetUserIds;
-        if (p == null) {
-            targetUserIds = List.of();
-        } else {
-            targetUserIds = locationService.findNearbyUsersWithRadius(senderId, p.getY(), p.getX(), radius);
-        }
-
         BroadcastEventDto offEvent = BroadcastEventDto.off(senderId);
 
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
+                readModel.remove(senderId, broadcastId);
+
+                // 유지 중인 대상 집합으로 바로 off (geo 검색 없음), 추적 중이 아니었으면 위치 기준으로 검색
+                List<Long> targetUserIds = audienceTracker.remove(senderId);
+                if (targetUserIds == null) {
+                    targetUserIds = findAudience(senderId, radius);
+                }
+                locationService.removeLocation(senderId);
+
+                // 아직 안 나간 like 는 버리고 off 를 바로 보냄
+                likeCoalescer.cancel(senderId);
+                likeDedup.reset(broadcastId);
+                likeCounter.end(broadcastId);
+
                 //  반경내 유저에게 off 이벤트 전송
                 if (!targetUserIds.isEmpty()) {
                     sendToTargets(targetUserIds, "broadcast.off", senderId, offEvent);
@@ -110,71 +138,107 @@ public class BroadcastService {
         });
     }
 
-    private MusicDto toMusicDto(Music m) {
-        if (m == null) return null;
-        return new MusicDto(
-                m.getTrackId(),
-                m.getTitle(),
-                m.getArtist(),
-                m.getArtworkUrl(),
-                m.getPreviewUrl()
-        );
+    private List<Long> findAudience(Long senderId, int radius) {
+        Point p = locationService.getLocation(senderId);
+        if (p == null) return List.of();
+        return locationService.findNearbyUsersWithRadius(senderId, p.getY(), p.getX(), radius);
     }
 
+    // 좋아요 수는 행 락 없이 카운터로 올리고 DB 에는 주기적으로 기록 (BroadcastLikeCounter)
+    // count = 같은 window 에 모인 좋아요 수 (BroadcastLikeBatcher) → 반경 계산 / audience diff / fan-out 은 window 당 한 번
     @Transactional
-    public void like(Long broadcastId, Long likerUserId) {
-        Broadcast broadcast = broadcastRepository.findByIdForUpdate(broadcastId)
+    public BroadcastLikeResponse like(Long broadcastId, int count) {
+        Broadcast broadcast = broadcastRepository.findById(broadcastId)
                 .orElseThrow(() -> new AppException(ErrorCode.BROADCAST_NOT_FOUND));
 
         Long senderId = broadcast.getSenderId();
 
-        int oldRadius = broadcast.getRadiusMeter();
-
-        broadcast.increaseLikeCount();
+        int likeCount = likeCounter.add(broadcastId, broadcast.getLikeCount(), count);
+        broadcast.applyLikeCount(likeCount);
 
+        // 커밋되면 곡별 좋아요 증가분 적재 (batch upsert), 롤백되면 카운터 되돌림
         Music cur = broadcast.getMusic();
-        if (cur != null && cur.getTrackId() != null) {
-            increaseSongLikeCount(senderId, cur.getTrackId());
-        }
+        Long trackId = (cur != null) ? cur.getTrackId() : null;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    likeCounter.undo(broadcastId, count);
+                } else if (status == STATUS_COMMITTED) {
+                    readModel.update(senderId, b -> b.withLikes(likeCount));
+                    if (trackId != null) songLikes.add(senderId, trackId, count);
+                }
+            }
+        });
 
+        // 동시에 들어온 batch 중 반경 경계를 넘긴 batch 만 반경 변경을 처리
+        int oldRadius = Broadcast.radiusFor(likeCount - count);
         int newRadius = broadcast.getRadiusMeter();
+        BroadcastLikeResponse response = new BroadcastLikeResponse(broadcastId, likeCount, newRadius);
 
-        log.info("[BROADCAST-LIKE] broadcastId={} senderId={} likeCount={} radius {}->{}",
-                broadcastId, senderId, broadcast.getLikeCount(), oldRadius, newRadius);
+        log.info("[BROADCAST-LIKE] broadcastId={} senderId={} likes={} likeCount={} radius {}->{}",
+                broadcastId, senderId, count, likeCount, oldRadius, newRadius);
 
-        // 반경이 실제로 안 변했으면 재전파x
+        // 반경이 실제로 안 변했으면 재전파x, 현재 대상에게 좋아요 수만 갱신
         if (oldRadius == newRadius) {
-            return;
+            BroadcastLikeEventDto likeEvent = BroadcastLikeEventDto.of(senderId, broadcastId, likeCount, newRadius);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    List<Long> audience = audienceTracker.updateCard(senderId, c -> c.withLikes(likeCount, newRadius));
+                    if (audience != null && !audience.isEmpty()) {
+                        likeCoalescer.submit(senderId, audience, likeEvent);
+                    }
+                }
+            });
+            return response;
         }
 
         Point p = locationService.getLocation(senderId);
-        if (p == null) return;
+        if (p == null) return response;
 
         double lat = p.getY();
         double lon = p.getX();
 
-        List<Long> oldTargets = locationService.findNearbyUsersWithRadius(senderId, lat, lon, oldRadius);
-        List<Long> newTargets = locationService.findNearbyUsersWithRadius(senderId, lat, lon, newRadius);
-
-        Set<Long> oldSet = new HashSet<>(oldTargets);
-        Set<Long> newSet = new HashSet<>(newTargets);
-
-        Set<Long> joined = new HashSet<>(newSet);
-        joined.removeAll(oldSet);
-
-        Set<Long> left = new HashSet<>(oldSet);
-        left.removeAll(newSet);
+        // 큰 반경으로 한 번만 검색하고, 거리로 안쪽 링(기존 반경 이내)/바깥쪽 링을 나눔
+        int innerRadius = Math.min(oldRadius, newRadius);
+        NearbyResult nearby = locationService.findNearby(lat, lon, Math.max(oldRadius, newRadius));
+
+        // 링 분류는 primitive 배열 + 개수로 (like 마다 Long 박싱 / ArrayList 확장 없이)
+        long[] inner = new long[nearby.size()];
+        long[] outer = new long[nearby.size()];
+        int innerCount = 0;
+        int outerCount = 0;
+        for (int i = 0; i < nearby.size(); i++) {
+            long id = nearby.idAt(i);
+            if (id == senderId) continue;
+
+            if (nearby.distanceAt(i) <= innerRadius) {
+                inner[innerCount++] = id;
+            } else {
+                outer[outerCount++] = id;
+            }
+        }
+        int keptSize = innerCount;
+        int ringSize = outerCount;
 
-        Set<Long> kept = new HashSet<>(newSet);
-        kept.retainAll(oldSet);
+        // 반경이 커졌으면 바깥쪽 링이 새로 들어온 유저, 줄었으면 빠진 유저
+        boolean grew = newRadius > oldRadius;
 
         // 커밋 후에 전송할 페이로드 미리 만들어 둠
-        MusicDto musicDto = toMusicDto(broadcast.getMusic());
+        MusicDto musicDto = MusicDto.from(broadcast.getMusic());
         Long finalBroadcastId = broadcastId;
-        int finalLikeCount = broadcast.getLikeCount();
+        int finalLikeCount = likeCount;
         int finalRadius = newRadius;
 
-        BroadcastEventDto onEvent = (musicDto != null) ? BroadcastEventDto.on(senderId, musicDto) : null;
+        UserNearbyResponse prev = audienceTracker.card(senderId);
+        String nickname = (prev != null)
+                ? prev.nickname()
+                : userRepository.findById(senderId).map(User::getNickname).orElse(null);
+        UserNearbyResponse card = new UserNearbyResponse(
+                senderId, nickname, true, finalBroadcastId, musicDto, finalRadius, finalLikeCount, null);
+
+        BroadcastEventDto onEvent = (musicDto != null) ? BroadcastEventDto.on(card) : null;
         BroadcastEventDto offEvent = BroadcastEventDto.off(senderId);
         BroadcastLikeEventDto likeEvent =
                 BroadcastLikeEventDto.of(senderId, finalBroadcastId, finalLikeCount, finalRadius);
@@ -183,17 +247,39 @@ public class BroadcastService {
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
+                // fan-out / tracker 가 받는 List 로는 커밋된 경우에만 한 번 변환
+                List<Long> kept = toList(inner, keptSize);
+                List<Long> ring = toList(outer, ringSize);
+                List<Long> joined = grew ? ring : List.of();
+                List<Long> left = grew ? List.of() : ring;
+
+                List<Long> audience = new ArrayList<>(kept.size() + joined.size());
+                audience.addAll(kept);
+                audience.addAll(joined);
+                audienceTracker.reset(senderId, card, audience);
+
                 if (!joined.isEmpty() && onEvent != null) {
-                    sendToTargets(new ArrayList<>(joined), "broadcast.on", senderId, onEvent);
+                    sendToTargets(joined, "broadcast.on", senderId, onEvent);
                 }
                 if (!left.isEmpty()) {
-                    sendToTargets(new ArrayList<>(left), "broadcast.off", senderId, offEvent);
+                    sendToTargets(left, "broadcast.off", senderId, offEvent);
                 }
                 if (!kept.isEmpty()) {
-                    sendToTargets(new ArrayList<>(kept), "broadcast.like", senderId, likeEvent);
+                    // like 는 짧은 window 동안 합쳐서 최신 값만 전송
+                    likeCoalescer.submit(senderId, kept, likeEvent);
                 }
             }
         });
+
+        return response;
+    }
+
+    private static List<Long> toList(long[] ids, int size) {
+        List<Long> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(ids[i]);
+        }
+        return list;
     }
 
     private void sendToTargets(
@@ -202,35 +288,19 @@ public class BroadcastService {
             Long senderId,
             Object data
     ) {
-        for (Long targetId : targetUserIds) {
-
-            if (targetId.equals(senderId)) continue;
-
-            SseEmitter emitter = registry.get(targetId);
-            if (emitter == null) continue;
-
-            try {
-                emitter.send(
-                        SseEmitter.event()
-                                .name(eventName)
-                                .data(data, MediaType.APPLICATION_JSON)
-                );
-            } catch (IOException e) {
-                // 최소 로그: 실패만 warn
-                log.warn("[SSE-SEND] failed event={} senderId={} targetId={} reason={}",
-                        eventName, senderId, targetId, e.toString());
-                registry.remove(targetId);
-            }
-        }
+        // 실제 전송은 fan-out 실행기에서 비동기로 처리
+        fanoutExecutor.dispatch(targetUserIds, eventName, senderId, data);
     }
 
-    // 송출 중 음악 변경
+    // 송출 중 음악 변경 (송출 여부 / 같은 곡 확인은 read model 로, DB 는 music upsert + 한 줄 update 만)
     @Transactional
     public void changeMusic(Long userId, MusicDto musicDto) {
-        Broadcast broadcast = broadcastRepository.findBySenderIdAndIsActiveTrue(userId)
-                .orElseThrow(() -> new AppException(ErrorCode.BROADCAST_NOT_ACTIVE));
+        ActiveBroadcast current = readModel.get(userId);
+        if (current == null) {
+            throw new AppException(ErrorCode.BROADCAST_NOT_ACTIVE);
+        }
 
-        Long currentTrackId = (broadcast.getMusic() != null) ? broadcast.getMusic().getTrackId() : null;
+        Long currentTrackId = (current.music() != null) ? current.music().getTrackId() : null;
         Long newTrackId = (musicDto != null) ? musicDto.getTrackId() : null;
 
         // 같은 음악이면 무시
@@ -239,30 +309,46 @@ public class BroadcastService {
         }
 
         Music music = musicService.findOrCreate(musicDto);
-        broadcast.updateCurrentMusic(music);
+        if (broadcastRepository.updateMusicIfActive(current.broadcastId(), music, LocalDateTime.now()) == 0) {
+            throw new AppException(ErrorCode.BROADCAST_NOT_ACTIVE);
+        }
+
+        // 현재 대상에게 음악 변경 전송 + 이후 on 이벤트 / 구독 스냅샷에 반영
+        MusicDto changed = MusicDto.from(music);
+        BroadcastEventDto musicEvent = BroadcastEventDto.musicChanged(userId, changed);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readModel.update(userId, b -> b.withMusic(changed));
+                List<Long> audience = audienceTracker.updateCard(userId, c -> c.withMusic(changed));
+                if (audience != null && !audience.isEmpty()) {
+                    sendToTargets(audience, "broadcast.music", userId, musicEvent);
+                }
+            }
+        });
 
         log.info("[BROADCAST-MUSIC] userId={} trackId={}", userId, newTrackId);
     }
 
-    @Transactional(readOnly = true)
+    // 송출 중이면 read model 만으로 응답 (DB 조회 없음)
     public MyBroadcastResponse getMyBroadcast(Long userId) {
 
-        Broadcast broadcast = broadcastRepository.findBySenderId(userId)
-                .orElse(null);
+        ActiveBroadcast active = readModel.get(userId);
 
-        // 송출 x 중인 경우
-        if (broadcast == null) {
+        // 송출 x 중인 경우 (방송 꺼져 있으면 음악/좌표 숨김, 누적 좋아요 수만)
+        if (active == null) {
+            int likeCount = broadcastRepository.findBySenderId(userId)
+                    .map(b -> likeCounter.current(b.getBroadcastId(), b.getLikeCount()))
+                    .orElse(0);
             return MyBroadcastResponse.builder()
                     .active(false)
                     .lat(null)
                     .lon(null)
                     .music(null)
-                    .likeCount(0)
+                    .likeCount(likeCount)
                     .build();
         }
 
-        boolean active = broadcast.isActive();
-
         // 위치 정보 (Redis)
         Double lat = null;
         Double lon = null;
@@ -273,8 +359,8 @@ public class BroadcastService {
         }
 
         MyBroadcastResponse.MusicDto musicDto = null;
-        if (broadcast.getMusic() != null) {
-            Music m = broadcast.getMusic();
+        if (active.music() != null) {
+            MusicDto m = active.music();
             musicDto = MyBroadcastResponse.MusicDto.builder()
                     .trackId(m.getTrackId())
                     .title(m.getTitle())
@@ -283,31 +369,15 @@ public class BroadcastService {
                     .build();
         }
 
-        // 방송 꺼져 있으면 음악/좌표 숨김 (정책)
-        if (!active) {
-            lat = null;
-            lon = null;
-            musicDto = null;
-        }
+        int likeCount = likeCounter.current(active.broadcastId(), active.likeCount());
 
         return MyBroadcastResponse.builder()
-                .active(active)
+                .active(true)
                 .lat(lat)
                 .lon(lon)
                 .music(musicDto)
-                .likeCount(broadcast.getLikeCount())
+                .likeCount(likeCount)
+                .radiusMeter(Broadcast.radiusFor(likeCount))
                 .build();
     }
-
-    private int increaseSongLikeCount(Long senderId, Long trackId) {
-        BroadcastMusicLike entity = broadcastMusicLikeRepository
-                .findBySenderIdAndTrackId(senderId, trackId)
-                .orElseGet(() -> BroadcastMusicLike.of(senderId, trackId, 0));
-
-        int newCount = entity.getLikeCount() + 1;
-        entity.updateLikeCount(newCount);
-        broadcastMusicLikeRepository.save(entity);
-
-        return newCount;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package sogeun.backend.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+// 미리 인코딩된 바이트를 SseEmitter 에 그대로 씀
+public class EmitterSseSink implements SseSink {
+
+    private final SseEmitter emitter;
+
+    public EmitterSseSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void write(SseFrame frame) throws IOException {
+        frame.writeTo(emitter);
+    }
+
+    @Override
+    public void complete() {
+        emitter.complete();
+    }
+
+    @Override
+    public void completeWithError(Throwable e) {
+        emitter.completeWithError(e);
+    }
+}
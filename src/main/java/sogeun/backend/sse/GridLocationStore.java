@@ -0,0 +1,261 @@
+package sogeun.backend.sse;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.geo.Point;
+import org.springframework.stereotype.Component;
+import sogeun.backend.common.util.GeoUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 프로세스 내 균일 격자 위치 인덱스 (location.store=grid)
+// 셀마다 id / 위경도를 primitive 배열로 보관, 반경 검색은 겹치는 셀만 훑음 (Redis 왕복 없음)
+// write-through=true 면 Redis GEO 에도 같이 기록하고, 시작 시 Redis 에서 적재 (재시작/다른 도구와 공유)
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "location.store", havingValue = "grid")
+public class GridLocationStore implements LocationStore {
+
+    private final RedisLocationStore redisStore;
+    private final boolean writeThrough;
+
+    // 셀 한 변 (위도 방향 각도). 경도 방향도 같은 각도를 쓰고, 검색 시 위도에 맞게 범위를 넓힘
+    private final double cellDegrees;
+
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    // 마지막 갱신 순서 (오래된 것이 앞) → 만료 정리는 앞에서부터 만료된 만큼만 훑음
+    // 갱신할 때 remove 후 put 으로 맨 뒤로 보냄
+    private final LinkedHashMap<Long, Position> positions = new LinkedHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GridLocationStore(
+            RedisLocationStore redisStore,
+            @Value("${location.grid.cell-meters:350}") double cellMeters,
+            @Value("${location.grid.write-through:true}") boolean writeThrough
+    ) {
+        this.redisStore = redisStore;
+        this.writeThrough = writeThrough;
+        this.cellDegrees = cellMeters / GeoUtils.METERS_PER_DEGREE;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        if (!writeThrough) return;
+        try {
+            Map<Long, Point> all = redisStore.loadAll();
+            all.forEach((userId, p) -> putLocal(userId, p.getY(), p.getX()));
+            log.info("[LOCATION-GRID] warmed up from redis users={}", all.size());
+        } catch (Exception e) {
+            log.warn("[LOCATION-GRID] warm up failed reason={}", e.toString());
+        }
+    }
+
+    @Override
+    public void put(long userId, double lat, double lon) {
+        putLocal(userId, lat, lon);
+        if (writeThrough) redisStore.put(userId, lat, lon);
+    }
+
+    @Override
+    public void putAll(long[] userIds, double[] lats, double[] lons, int size) {
+        for (int i = 0; i < size; i++) {
+            putLocal(userIds[i], lats[i], lons[i]);
+        }
+        if (writeThrough) redisStore.putAll(userIds, lats, lons, size);
+    }
+
+    @Override
+    public Point get(long userId) {
+        lock.readLock().lock();
+        try {
+            Position p = positions.get(userId);
+            return (p == null) ? null : new Point(p.lon, p.lat);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void touch(long userId) {
+        lock.writeLock().lock();
+        try {
+            Position p = positions.remove(userId);
+            if (p != null) {
+                positions.put(userId, new Position(p.cellKey, p.lat, p.lon, System.currentTimeMillis()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (writeThrough) redisStore.touch(userId);
+    }
+
+    @Override
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            Position p = positions.remove(userId);
+            if (p != null) removeFromCell(p.cellKey, userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (writeThrough) redisStore.remove(userId);
+    }
+
+    @Override
+    public long[] removeIdle(long seenBefore, int limit) {
+        long[] removed = new long[Math.min(limit, 64)];
+        int size = 0;
+
+        lock.writeLock().lock();
+        try {
+            Iterator<Map.Entry<Long, Position>> it = positions.entrySet().iterator();
+            while (it.hasNext() && size < limit) {
+                Map.Entry<Long, Position> entry = it.next();
+                Position p = entry.getValue();
+                // 이후는 전부 더 최근에 갱신됨
+                if (p.seenAt >= seenBefore) break;
+
+                it.remove();
+                removeFromCell(p.cellKey, entry.getKey());
+                if (size == removed.length) {
+                    removed = Arrays.copyOf(removed, size * 2);
+                }
+                removed[size++] = entry.getKey();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Redis 쪽은 자체 seen 기준으로 정리
+        if (writeThrough) redisStore.removeIdle(seenBefore, limit);
+        return Arrays.copyOf(removed, size);
+    }
+
+    @Override
+    public NearbyResult nearby(double lat, double lon, double radiusMeter, int limit) {
+        double latSpan = radiusMeter / GeoUtils.METERS_PER_DEGREE;
+        double cos = Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        double lonSpan = Math.min(180, latSpan / cos);
+
+        int minRow = cellIndex(lat - latSpan);
+        int maxRow = cellIndex(lat + latSpan);
+        int minCol = cellIndex(lon - lonSpan);
+        int maxCol = cellIndex(lon + lonSpan);
+
+        long[] ids = new long[16];
+        double[] distances = new double[16];
+        int size = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    Cell cell = cells.get(cellKey(row, col));
+                    if (cell == null) continue;
+
+                    for (int i = 0; i < cell.size; i++) {
+                        double d = GeoUtils.distanceMeters(lat, lon, cell.lats[i], cell.lons[i]);
+                        if (d > radiusMeter) continue;
+
+                        if (size == ids.length) {
+                            ids = Arrays.copyOf(ids, size * 2);
+                            distances = Arrays.copyOf(distances, size * 2);
+                        }
+                        ids[size] = cell.ids[i];
+                        distances[size] = d;
+                        size++;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return NearbyResult.sorted(ids, distances, size).limit(limit);
+    }
+
+    private void putLocal(long userId, double lat, double lon) {
+        long key = cellKey(cellIndex(lat), cellIndex(lon));
+
+        lock.writeLock().lock();
+        try {
+            Position old = positions.remove(userId);
+            positions.put(userId, new Position(key, lat, lon, System.currentTimeMillis()));
+            if (old != null && old.cellKey != key) {
+                removeFromCell(old.cellKey, userId);
+            }
+            cells.computeIfAbsent(key, k -> new Cell()).put(userId, lat, lon);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFromCell(long key, long userId) {
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(userId) && cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private record Position(long cellKey, double lat, double lon, long seenAt) {}
+
+    // 셀 하나에 들어 있는 유저 (lock 안에서만 접근)
+    private static final class Cell {
+
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lons = new double[4];
+        private int size;
+
+        private void put(long userId, double lat, double lon) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == userId) {
+                    lats[i] = lat;
+                    lons[i] = lon;
+                    return;
+                }
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+                lons = Arrays.copyOf(lons, size * 2);
+            }
+            ids[size] = userId;
+            lats[size] = lat;
+            lons[size] = lon;
+            size++;
+        }
+
+        // 마지막 원소로 빈자리 채움
+        private boolean remove(long userId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == userId) {
+                    size--;
+                    ids[i] = ids[size];
+                    lats[i] = lats[size];
+                    lons[i] = lons[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
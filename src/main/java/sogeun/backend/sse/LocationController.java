@@ -6,6 +6,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import sogeun.backend.sse.dto.LocationBatchRequest;
+import sogeun.backend.sse.dto.LocationBatchResponse;
+import sogeun.backend.sse.dto.NearbyPage;
 import sogeun.backend.sse.dto.UpdateLocationRequest;
 import sogeun.backend.service.UserService;
 import sogeun.backend.sse.dto.UserNearbyResponse;
@@ -18,6 +21,9 @@ import static sogeun.backend.security.SecurityUtil.extractUserId;
 @RequiredArgsConstructor
 @RequestMapping("/api/sse/location")
 public class LocationController {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final LocationService locationService;
     private final UserService userService;
 
@@ -31,10 +37,32 @@ public class LocationController {
         return ResponseEntity.ok().build();
     }
 
+    // 여러 위치 샘플 한 번에 (클라이언트 버퍼 / edge gateway)
+    @PostMapping("/batch")
+    public LocationBatchResponse updateLocations(
+            Authentication authentication,
+            @RequestBody @Valid LocationBatchRequest request
+    ) {
+        Long userId = extractUserId(authentication);
+        return locationService.saveLocations(userId, request.getSamples());
+    }
+
+    // 가까운 순 페이지, 다음 페이지 cursor 는 X-Next-Cursor 헤더 (마지막 페이지면 없음)
+    // cursor / size 를 안 보내면 이전처럼 한 번에 전체 (max-results 까지)
     @GetMapping(value = "/nearby", produces = MediaType.APPLICATION_JSON_VALUE)
-    public List<UserNearbyResponse> nearby(Authentication authentication) {
+    public ResponseEntity<List<UserNearbyResponse>> nearby(
+            Authentication authentication,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
         Long userId = extractUserId(authentication);
-        return userService.findNearbyBroadcastingUsers(userId);
+        NearbyPage page = userService.findNearbyBroadcastingUsers(userId, cursor, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
 }
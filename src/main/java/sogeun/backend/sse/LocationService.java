@@ -1,66 +1,259 @@
 package sogeun.backend.sse;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.geo.*;
-import org.springframework.data.redis.connection.RedisGeoCommands;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.domain.geo.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.geo.Point;
 import org.springframework.stereotype.Service;
-import sogeun.backend.common.error.AppException;
-import sogeun.backend.common.error.ErrorCode;
-import sogeun.backend.entity.Broadcast;
-import sogeun.backend.repository.BroadcastRepository;
+import sogeun.backend.common.util.GeoUtils;
+import sogeun.backend.sse.dto.LocationBatchRequest;
+import sogeun.backend.sse.dto.LocationBatchResponse;
+import sogeun.backend.sse.dto.LocationBatchResponse.Status;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class LocationService {
 
-    private static final String KEY = "geo:user";
+    // location.store 설정에 따라 Redis GEO 또는 프로세스 내 격자 인덱스
+    private final LocationStore locationStore;
+    private final ActiveBroadcastReadModel readModel;
+    private final BroadcastAudienceTracker audienceTracker;
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private final BroadcastRepository broadcastRepository;
+    // 이보다 적게 움직인 위치 갱신은 저장하지 않음 (0 = 항상 저장)
+    private final double minMoveMeters;
+
+    // 다른 유저 위치를 대신 보낼 수 있는 userId (edge gateway 계정 등)
+    private final Set<Long> trustedSenderIds;
+
+    // 마지막 갱신 후 이 시간이 지나면 위치 인덱스에서 제거
+    private final long seenTtlMillis;
+
+    // 주변 조회는 가까운 maxResults 명 안에서만 페이지 (GEOSEARCH COUNT)
+    private final int maxResults;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    // 이 노드에서 마지막으로 저장한 위치 (이동 거리 비교 / 갱신 시각 연장용)
+    private final ConcurrentHashMap<Long, Saved> lastSaved = new ConcurrentHashMap<>();
+
+    public LocationService(
+            LocationStore locationStore,
+            ActiveBroadcastReadModel readModel,
+            BroadcastAudienceTracker audienceTracker,
+            @Value("${location.min-move-meters:5}") double minMoveMeters,
+            @Value("${location.batch.trusted-sender-ids:}") String trustedSenderIds,
+            @Value("${location.seen-ttl-ms:120000}") long seenTtlMillis,
+            @Value("${location.nearby.max-results:500}") int maxResults,
+            @Value("${location.nearby.page-size:20}") int defaultPageSize,
+            @Value("${location.nearby.max-page-size:100}") int maxPageSize
+    ) {
+        this.locationStore = locationStore;
+        this.readModel = readModel;
+        this.audienceTracker = audienceTracker;
+        this.minMoveMeters = minMoveMeters;
+        this.seenTtlMillis = seenTtlMillis;
+        this.maxResults = Math.max(1, maxResults);
+        this.defaultPageSize = Math.max(1, defaultPageSize);
+        this.maxPageSize = Math.max(this.defaultPageSize, maxPageSize);
+        this.trustedSenderIds = Arrays.stream(trustedSenderIds.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
 
     // 현재 송출중인 유저만 위치 저장
     public void saveLocation(Long userId, double lat, double lon) {
 
-        boolean isBroadcasting = broadcastRepository
-                .findBySenderIdAndIsActiveTrue(userId)
-                .isPresent();
+        if (readModel.get(userId) == null) {
+            lastSaved.remove(userId);
+            return;
+        }
+
+        if (movedTooLittle(userId, lat, lon)) {
+            touchIfStale(userId);
+            return;
+        }
+
+        locationStore.put(userId, lat, lon);
+        lastSaved.put(userId, new Saved(lat, lon, System.currentTimeMillis()));
+
+        // 반경 안으로 들어오거나 나간 유저에게만 on / off
+        audienceTracker.onMove(userId, lat, lon);
+    }
+
+    // 여러 위치 샘플을 한 번에 저장 (유저별 최신 샘플만, 저장소에는 한 번에 기록)
+    public LocationBatchResponse saveLocations(Long requesterId, List<LocationBatchRequest.Sample> samples) {
+        int n = samples.size();
+        Long[] userIds = new Long[n];
+        Status[] statuses = new Status[n];
+
+        // 유저별 최신 샘플 index (ts 같거나 없으면 뒤에 온 샘플)
+        Map<Long, Integer> newest = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            LocationBatchRequest.Sample s = samples.get(i);
+            Long userId = (s.getUserId() != null) ? s.getUserId() : requesterId;
+            userIds[i] = userId;
+
+            if (!userId.equals(requesterId) && !trustedSenderIds.contains(requesterId)) {
+                statuses[i] = Status.FORBIDDEN;
+                continue;
+            }
+            if (!isValid(s.getLat(), s.getLon())) {
+                statuses[i] = Status.INVALID;
+                continue;
+            }
+
+            Integer prev = newest.get(userId);
+            if (prev != null && isNewer(samples.get(prev), s)) {
+                statuses[i] = Status.SUPERSEDED;
+                continue;
+            }
+            if (prev != null) {
+                statuses[prev] = Status.SUPERSEDED;
+            }
+            newest.put(userId, i);
+        }
+
+        long[] ids = new long[newest.size()];
+        double[] lats = new double[newest.size()];
+        double[] lons = new double[newest.size()];
+        int size = 0;
+
+        for (int i : newest.values()) {
+            LocationBatchRequest.Sample s = samples.get(i);
+            Long userId = userIds[i];
+
+            if (readModel.get(userId) == null) {
+                lastSaved.remove(userId);
+                statuses[i] = Status.NOT_BROADCASTING;
+                continue;
+            }
+            if (movedTooLittle(userId, s.getLat(), s.getLon())) {
+                touchIfStale(userId);
+                statuses[i] = Status.UNCHANGED;
+                continue;
+            }
+
+            ids[size] = userId;
+            lats[size] = s.getLat();
+            lons[size] = s.getLon();
+            size++;
+            statuses[i] = Status.SAVED;
+        }
 
-        if (!isBroadcasting) return;
+        locationStore.putAll(ids, lats, lons, size);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            lastSaved.put(ids[i], new Saved(lats[i], lons[i], now));
+        }
+        audienceTracker.onMoveAll(ids, lats, lons, size);
 
-        redisTemplate.opsForGeo().add(KEY, new Point(lon, lat), userId.toString());
+        List<LocationBatchResponse.Item> results = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            results.add(new LocationBatchResponse.Item(userIds[i], statuses[i]));
+        }
+
+        log.debug("[LOCATION-BATCH] requesterId={} samples={} saved={}", requesterId, n, size);
+        return new LocationBatchResponse(size, results);
+    }
+
+    private boolean movedTooLittle(Long userId, double lat, double lon) {
+        if (minMoveMeters <= 0) return false;
+        Saved last = lastSaved.get(userId);
+        return last != null && GeoUtils.distanceMeters(last.lat(), last.lon(), lat, lon) < minMoveMeters;
+    }
+
+    // 제자리 송출자도 TTL 안에 갱신 시각을 연장 (TTL/4 마다 한 번)
+    private void touchIfStale(Long userId) {
+        Saved last = lastSaved.get(userId);
+        long now = System.currentTimeMillis();
+        if (last == null || now - last.at() < seenTtlMillis / 4) return;
+
+        locationStore.touch(userId);
+        lastSaved.put(userId, new Saved(last.lat(), last.lon(), now));
+    }
+
+    // Redis GEO 허용 범위
+    private static boolean isValid(double lat, double lon) {
+        return lat >= -85.05112878 && lat <= 85.05112878 && lon >= -180 && lon <= 180;
+    }
+
+    // prev 가 candidate 보다 최신이면 true
+    private static boolean isNewer(LocationBatchRequest.Sample prev, LocationBatchRequest.Sample candidate) {
+        if (prev.getTs() == null || candidate.getTs() == null) return false;
+        return prev.getTs() > candidate.getTs();
+    }
+
+    // 송출 종료 시 위치 인덱스에서 제거
+    public void removeLocation(Long userId) {
+        lastSaved.remove(userId);
+        locationStore.remove(userId);
+        audienceTracker.removeListener(userId);
+    }
+
+    // TTL 동안 갱신이 없던 유저를 limit 명까지 제거 (sweeper 가 주기적으로 호출)
+    public int removeIdle(int limit) {
+        long[] removed = locationStore.removeIdle(System.currentTimeMillis() - seenTtlMillis, limit);
+        for (long userId : removed) {
+            lastSaved.remove(userId);
+            audienceTracker.removeListener(userId);
+        }
+        return removed.length;
     }
 
     // 저장된 위치 조회
     public Point getLocation(Long userId) {
-        List<Point> positions = redisTemplate.opsForGeo().position(KEY, userId.toString());
-        return (positions == null || positions.isEmpty()) ? null : positions.get(0);
+        return locationStore.get(userId);
     }
 
     // 반경 내 유저 검색
     public List<Long> findNearbyUsersWithRadius(Long myId, double lat, double lon, double radiusMeter) {
+        return findNearby(lat, lon, radiusMeter).ids(myId);
+    }
 
-        Circle circle = new Circle(new Point(lon, lat), new Distance(radiusMeter, Metrics.METERS));
+    // 반경 내 유저 + 거리 (거리 오름차순)
+    public NearbyResult findNearby(double lat, double lon, double radiusMeter) {
+        return locationStore.nearby(lat, lon, radiusMeter);
+    }
 
-        RedisGeoCommands.GeoRadiusCommandArgs args = RedisGeoCommands.GeoRadiusCommandArgs
-                .newGeoRadiusArgs()
-                .sortAscending()
-                .includeDistance();
+    // cursor 다음부터 가까운 순 후보 전부 (본인 제외, max-results 안에서)
+    // 송출 여부 필터는 호출하는 쪽에서 (필터 후에 페이지를 잘라야 페이지가 짧아지지 않음)
+    public NearbyResult findNearbyAfter(long myId, double lat, double lon, double radiusMeter, NearbyCursor after) {
+        // 본인이 섞여 있을 수 있어 1명 더
+        NearbyResult all = locationStore.nearby(lat, lon, radiusMeter, maxResults + 1);
+        int from = (after == null) ? 0 : all.indexAfter(after.distance(), after.userId());
 
-        GeoResults<RedisGeoCommands.GeoLocation<String>> results =
-                redisTemplate.opsForGeo().radius(KEY, circle, args);
+        long[] ids = new long[Math.max(0, all.size() - from)];
+        double[] distances = new double[ids.length];
+        int n = 0;
+        for (int i = from; i < all.size() && n < maxResults; i++) {
+            if (all.idAt(i) == myId) continue;
+            ids[n] = all.idAt(i);
+            distances[n] = all.distanceAt(i);
+            n++;
+        }
+        return new NearbyResult(ids, distances, n);
+    }
 
-        if (results == null) return List.of();
+    // 요청 페이지 크기 (없으면 기본값, 최대 maxPageSize)
+    public int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) return defaultPageSize;
+        return Math.min(requested, maxPageSize);
+    }
 
-        return results.getContent().stream()
-                .map(r -> Long.valueOf(r.getContent().getName()))
-                .filter(id -> !id.equals(myId))
-                .toList();
+    // 한 번에 볼 수 있는 최대 인원 (스냅샷 등 페이지 없이 보내는 경우)
+    public int getMaxResults() {
+        return maxResults;
     }
 
-}
\ No newline at end of file
+    private record Saved(double lat, double lon, long at) {}
+}
@@ -0,0 +1,40 @@
+package sogeun.backend.sse;
+
+import org.springframework.data.geo.Point;
+
+// 송출자 위치 저장소 (location.store=redis | grid)
+public interface LocationStore {
+
+    void put(long userId, double lat, double lon);
+
+    // 여러 유저 위치를 한 번에 저장 (Redis 는 한 번 왕복)
+    void putAll(long[] userIds, double[] lats, double[] lons, int size);
+
+    // 없으면 null (x = lon, y = lat)
+    Point get(long userId);
+
+    // 위치는 그대로, 마지막 갱신 시각만 현재로 (제자리 송출자가 만료되지 않도록)
+    void touch(long userId);
+
+    void remove(long userId);
+
+    // seenBefore(epoch ms) 이전에 마지막으로 갱신된 유저를 limit 명까지 제거하고 id 반환
+    long[] removeIdle(long seenBefore, int limit);
+
+    // 반경 내 유저 (거리 오름차순)
+    default NearbyResult nearby(double lat, double lon, double radiusMeter) {
+        return nearby(lat, lon, radiusMeter, 0);
+    }
+
+    // 반경 내 가까운 유저 limit 명까지 (limit <= 0 이면 전부)
+    NearbyResult nearby(double lat, double lon, double radiusMeter, int limit);
+
+    // 여러 중심의 반경 검색을 한 번에 (Redis 는 한 번 왕복), 결과는 입력 순서대로
+    default NearbyResult[] nearbyAll(double[] lats, double[] lons, double[] radiusMeters, int size) {
+        NearbyResult[] results = new NearbyResult[size];
+        for (int i = 0; i < size; i++) {
+            results[i] = nearby(lats[i], lons[i], radiusMeters[i]);
+        }
+        return results;
+    }
+}
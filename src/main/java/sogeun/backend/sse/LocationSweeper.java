@@ -0,0 +1,58 @@
+package sogeun.backend.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 갱신이 끊긴 위치(앱 종료/크래시 등)를 위치 인덱스에서 조금씩 정리
+// 한 번에 batch-size 명까지만 지우고, 다 못 지웠으면 다음 주기에 이어서
+@Slf4j
+@Component
+public class LocationSweeper {
+
+    private final LocationService locationService;
+    private final RedisLocationStore redisStore;
+    private final int batchSize;
+
+    public LocationSweeper(
+            LocationService locationService,
+            RedisLocationStore redisStore,
+            @Value("${location.sweep.batch-size:500}") int batchSize
+    ) {
+        this.locationService = locationService;
+        this.redisStore = redisStore;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // 셀 분할 이전 단일 키 / 전역 seen 에 남은 멤버를 셀 키 / 셀별 seen 으로 옮김 (TTL 적용)
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacy() {
+        try {
+            int moved = redisStore.migrateLegacy();
+            if (moved > 0) {
+                log.info("[LOCATION-SWEEP] migrated legacy geo members={}", moved);
+            }
+            int reseen = redisStore.migrateLegacySeen();
+            if (reseen > 0) {
+                log.info("[LOCATION-SWEEP] migrated legacy seen members={}", reseen);
+            }
+        } catch (Exception e) {
+            log.warn("[LOCATION-SWEEP] legacy migration failed reason={}", e.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${location.sweep.interval-ms:10000}")
+    public void sweep() {
+        try {
+            int removed = locationService.removeIdle(batchSize);
+            if (removed > 0) {
+                log.info("[LOCATION-SWEEP] removed idle members={}", removed);
+            }
+        } catch (Exception e) {
+            log.warn("[LOCATION-SWEEP] failed reason={}", e.toString());
+        }
+    }
+}
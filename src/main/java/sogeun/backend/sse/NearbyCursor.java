@@ -0,0 +1,29 @@
+package sogeun.backend.sse;
+
+import sogeun.backend.common.error.AppException;
+import sogeun.backend.common.error.ErrorCode;
+
+// 주변 검색 페이지 커서 "distance:userId" (이 위치 다음부터 다음 페이지)
+public record NearbyCursor(double distance, long userId) {
+
+    // 없으면 null, 형식이 틀리면 INVALID_REQUEST
+    public static NearbyCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+
+        int sep = cursor.lastIndexOf(':');
+        if (sep <= 0) throw new AppException(ErrorCode.INVALID_REQUEST);
+        try {
+            return new NearbyCursor(
+                    Double.parseDouble(cursor.substring(0, sep)),
+                    Long.parseLong(cursor.substring(sep + 1))
+            );
+        } catch (NumberFormatException e) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return distance + ":" + userId;
+    }
+}
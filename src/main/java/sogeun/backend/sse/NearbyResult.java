@@ -0,0 +1,96 @@
+package sogeun.backend.sse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 반경 검색 결과 (거리 → id 오름차순, id / 거리(m)를 primitive 배열로 보관)
+public final class NearbyResult {
+
+    public static final NearbyResult EMPTY = new NearbyResult(new long[0], new double[0], 0);
+
+    private final long[] ids;
+    private final double[] distances;
+    private final int size;
+
+    public NearbyResult(long[] ids, double[] distances, int size) {
+        this.ids = ids;
+        this.distances = distances;
+        this.size = size;
+    }
+
+    // 정렬 안 된 배열로 생성 (배열을 그대로 정렬해서 씀)
+    public static NearbyResult sorted(long[] ids, double[] distances, int size) {
+        if (size == 0) return EMPTY;
+        sortByDistance(ids, distances, 0, size - 1);
+        return new NearbyResult(ids, distances, size);
+    }
+
+    // 앞에서 max 명만 (배열은 공유, max <= 0 이면 그대로)
+    public NearbyResult limit(int max) {
+        return (max <= 0 || max >= size) ? this : new NearbyResult(ids, distances, max);
+    }
+
+    // (distance, id) 다음 위치 (페이지 cursor 이후 첫 index)
+    public int indexAfter(double distance, long id) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(distances[mid], ids[mid], distance, id) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public int size() { return size; }
+
+    public long idAt(int i) { return ids[i]; }
+
+    public double distanceAt(int i) { return distances[i]; }
+
+    // excludeId(보통 본인)를 뺀 id 목록
+    public List<Long> ids(long excludeId) {
+        List<Long> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (ids[i] != excludeId) result.add(ids[i]);
+        }
+        return result;
+    }
+
+    // id / 거리 배열을 같이 정렬 (거리 오름차순, 같은 거리는 id 순 → 페이지 경계가 흔들리지 않음)
+    private static void sortByDistance(long[] ids, double[] distances, int lo, int hi) {
+        while (lo < hi) {
+            int p = (lo + hi) >>> 1;
+            double pivot = distances[p];
+            long pivotId = ids[p];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (compare(distances[i], ids[i], pivot, pivotId) < 0) i++;
+                while (compare(distances[j], ids[j], pivot, pivotId) > 0) j--;
+                if (i <= j) {
+                    double d = distances[i]; distances[i] = distances[j]; distances[j] = d;
+                    long id = ids[i]; ids[i] = ids[j]; ids[j] = id;
+                    i++;
+                    j--;
+                }
+            }
+            // 작은 쪽만 재귀 (스택 깊이 제한)
+            if (j - lo < hi - i) {
+                sortByDistance(ids, distances, lo, j);
+                lo = i;
+            } else {
+                sortByDistance(ids, distances, i, hi);
+                hi = j;
+            }
+        }
+    }
+
+    private static int compare(double d1, long id1, double d2, long id2) {
+        int c = Double.compare(d1, d2);
+        return (c != 0) ? c : Long.compare(id1, id2);
+    }
+}
@@ -0,0 +1,487 @@
+package sogeun.backend.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.domain.geo.GeoReference;
+import org.springframework.data.redis.domain.geo.GeoShape;
+import org.springframework.data.redis.domain.geo.Metrics;
+import org.springframework.stereotype.Component;
+import sogeun.backend.common.util.GeoUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Redis GEO 기반 위치 저장소 (기본값, grid 모드에서는 영속/복제 원본)
+// 위치는 거친 격자 셀별 키 geo:user:{row:col} 에 나눠 저장 (한 키에 몰리지 않고 클러스터 샤드에 분산)
+// - geo:user:at:{userId} = "row:col|lat|lon|seenMs" : 유저가 들어 있는 셀 + 좌표 + 저장 시각 (셀 이동 / 조회용)
+// - geo:user:seen:{row:col} ZSET : 셀별 마지막 갱신 시각 (셀 키와 같은 hash tag → 같은 슬롯, 전역 hot key 없음)
+// - geo:user:cells SET : 멤버가 있을 수 있는 셀 목록 (sweeper 순회용, 노드마다 셀당 분 단위로만 SADD)
+// 반경 검색은 원과 겹치는 셀 키에만 GEOSEARCH 를 pipeline 으로 보냄
+@Slf4j
+@Component
+public class RedisLocationStore implements LocationStore {
+
+    // 셀 분할 이전 버전의 단일 키 (시작 시 셀 키로 옮기고 삭제)
+    static final String LEGACY_KEY = "geo:user";
+
+    static final String CELL_KEY_PREFIX = "geo:user:";
+    static final String AT_KEY_PREFIX = "geo:user:at:";
+    static final String SEEN_KEY_PREFIX = "geo:user:seen:";
+    static final String CELLS_KEY = "geo:user:cells";
+
+    // 셀 분할 이전 버전의 전역 seen ZSET (시작 시 셀별 seen 으로 옮기고 삭제)
+    static final String LEGACY_SEEN_KEY = "geo:user:seen";
+
+    // 같은 노드가 같은 셀을 CELLS_KEY 에 다시 SADD 하는 주기 (sweeper 가 빈 셀을 지운 뒤에도 다시 등록되도록)
+    private static final long CELL_REGISTER_INTERVAL_MILLIS = 60_000;
+
+    // 한 셀의 seen 에서 오래된 멤버를 limit 개까지 꺼내며 같은 셀의 GEO 멤버도 삭제, 첫 값은 남은 seen 수
+    // KEYS 는 같은 hash tag 의 두 키뿐 → 클러스터에서도 한 슬롯
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> POP_IDLE = new DefaultRedisScript<>(
+            "local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) "
+                    + "if #ids > 0 then "
+                    + "  redis.call('ZREM', KEYS[1], unpack(ids)) "
+                    + "  redis.call('ZREM', KEYS[2], unpack(ids)) "
+                    + "end "
+                    + "table.insert(ids, 1, tostring(redis.call('ZCARD', KEYS[1]))) "
+                    + "return ids",
+            List.class
+    );
+
+    // 위치 기록이 아직 그 셀 / seenBefore 이전 저장분일 때만 삭제 (pop 뒤에 다시 저장된 유저는 남김)
+    // 키 하나짜리라 유저마다 따로 pipeline 으로 보냄, 저장 시각이 없는 이전 형식은 오래된 것으로 봄
+    private static final byte[] DELETE_IF_STALE = (
+            "local v = redis.call('GET', KEYS[1]) "
+                    + "if not v or string.match(v, '^[^|]*') ~= ARGV[2] then return 0 end "
+                    + "local ts = tonumber(string.match(v, '^[^|]*|[^|]*|[^|]*|(%d+)$')) "
+                    + "if ts and ts > tonumber(ARGV[1]) then return 0 end "
+                    + "return redis.call('DEL', KEYS[1])"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final double cellDegrees;
+
+    // 이 노드가 CELLS_KEY 에 등록한 셀 → 다시 등록할 시각
+    private final ConcurrentHashMap<String, Long> registeredCells = new ConcurrentHashMap<>();
+
+    public RedisLocationStore(
+            RedisTemplate<String, String> redisTemplate,
+            @Value("${location.redis.cell-degrees:0.05}") double cellDegrees
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.cellDegrees = cellDegrees;
+    }
+
+    @Override
+    public void put(long userId, double lat, double lon) {
+        putAll(new long[]{userId}, new double[]{lat}, new double[]{lon}, 1);
+    }
+
+    // 셀별 GEOADD + 셀별 seen + 위치 기록을 한 번 왕복으로 (셀이 바뀐 유저만 이전 셀에서 한 번 더 삭제)
+    @Override
+    public void putAll(long[] userIds, double[] lats, double[] lons, int size) {
+        if (size == 0) return;
+
+        long now = System.currentTimeMillis();
+        String[] members = new String[size];
+        String[] cells = new String[size];
+        Map<String, Map<String, Point>> byCell = new HashMap<>();
+        Map<String, Set<ZSetOperations.TypedTuple<String>>> seenByCell = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            members[i] = Long.toString(userIds[i]);
+            cells[i] = cellOf(lats[i], lons[i]);
+            byCell.computeIfAbsent(cells[i], k -> new HashMap<>()).put(members[i], new Point(lons[i], lats[i]));
+            seenByCell.computeIfAbsent(cells[i], k -> new HashSet<>())
+                    .add(ZSetOperations.TypedTuple.of(members[i], (double) now));
+        }
+        String[] unregistered = cellsToRegister(byCell.keySet(), now);
+
+        List<Object> results = pipeline(ops -> {
+            for (int i = 0; i < size; i++) {
+                ops.opsForValue().getAndSet(AT_KEY_PREFIX + members[i], placement(cells[i], lats[i], lons[i], now));
+            }
+            byCell.forEach((cell, points) -> ops.opsForGeo().add(cellKey(cell), points));
+            seenByCell.forEach((cell, seen) -> ops.opsForZSet().add(seenKey(cell), seen));
+            if (unregistered.length > 0) ops.opsForSet().add(CELLS_KEY, unregistered);
+        });
+        for (String cell : unregistered) {
+            registeredCells.put(cell, now + CELL_REGISTER_INTERVAL_MILLIS);
+        }
+
+        List<String[]> moved = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            String oldCell = cellOfPlacement(results.get(i));
+            if (oldCell != null && !oldCell.equals(cells[i])) {
+                moved.add(new String[]{oldCell, members[i]});
+            }
+        }
+        if (!moved.isEmpty()) {
+            pipeline(ops -> {
+                for (String[] m : moved) {
+                    ops.opsForGeo().remove(cellKey(m[0]), m[1]);
+                    ops.opsForZSet().remove(seenKey(m[0]), m[1]);
+                }
+            });
+        }
+    }
+
+    // 들어 있는 셀의 seen 만 갱신 (셀을 모르면 위치가 이미 없어진 유저 → 무시)
+    @Override
+    public void touch(long userId) {
+        String cell = cellOfPlacement(redisTemplate.opsForValue().get(AT_KEY_PREFIX + userId));
+        if (cell == null) return;
+        redisTemplate.opsForZSet().add(seenKey(cell), Long.toString(userId), System.currentTimeMillis());
+    }
+
+    // 위치 기록 키 하나만 읽음 (GEOPOS 없음)
+    @Override
+    public Point get(long userId) {
+        String value = redisTemplate.opsForValue().get(AT_KEY_PREFIX + userId);
+        if (value == null) return null;
+
+        String[] parts = value.split("\\|");
+        return new Point(Double.parseDouble(parts[2]), Double.parseDouble(parts[1]));
+    }
+
+    @Override
+    public void remove(long userId) {
+        removeAll(new long[]{userId});
+    }
+
+    // 셀마다 POP_IDLE (셀 seen + 셀 GEO 만 건드림) → 꺼낸 유저의 위치 기록은 셀 밖이라 키별 조건부 삭제로
+    // 위치 기록까지 지워진 유저만 반환 (pop 직후 다시 저장된 유저는 살아 있는 것으로 봄)
+    @Override
+    public long[] removeIdle(long seenBefore, int limit) {
+        Set<String> cells = redisTemplate.opsForSet().members(CELLS_KEY);
+        if (cells == null || cells.isEmpty()) return new long[0];
+
+        String before = Long.toString(seenBefore);
+        List<String> poppedIds = new ArrayList<>();
+        List<String> poppedCells = new ArrayList<>();
+        List<String> emptied = new ArrayList<>();
+
+        for (String cell : cells) {
+            int budget = limit - poppedIds.size();
+            if (budget <= 0) break;
+
+            List<?> popped = redisTemplate.execute(
+                    POP_IDLE, List.of(seenKey(cell), cellKey(cell)), before, Integer.toString(budget));
+            if (popped == null || popped.isEmpty()) continue;
+
+            if ("0".equals(popped.get(0).toString())) emptied.add(cell);
+            for (int i = 1; i < popped.size(); i++) {
+                poppedIds.add(popped.get(i).toString());
+                poppedCells.add(cell);
+            }
+        }
+
+        if (!emptied.isEmpty()) {
+            redisTemplate.opsForSet().remove(CELLS_KEY, emptied.toArray());
+            emptied.forEach(registeredCells::remove);
+        }
+        if (poppedIds.isEmpty()) return new long[0];
+
+        byte[] beforeBytes = before.getBytes(StandardCharsets.UTF_8);
+        List<Object> deleted = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < poppedIds.size(); i++) {
+                connection.scriptingCommands().eval(DELETE_IF_STALE, ReturnType.INTEGER, 1,
+                        (AT_KEY_PREFIX + poppedIds.get(i)).getBytes(StandardCharsets.UTF_8),
+                        beforeBytes,
+                        poppedCells.get(i).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        long[] ids = new long[poppedIds.size()];
+        int size = 0;
+        for (int i = 0; i < poppedIds.size(); i++) {
+            if (deleted.get(i) instanceof Long n && n > 0) {
+                ids[size++] = Long.parseLong(poppedIds.get(i));
+            }
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    // 셀마다 GEOSEARCH ... ASC COUNT limit → 합쳐서 다시 limit 명까지 (셀별 상위 limit 안에 전체 상위 limit 이 다 들어 있음)
+    @Override
+    public NearbyResult nearby(double lat, double lon, double radiusMeter, int limit) {
+        List<String> cells = cellsAround(lat, lon, radiusMeter);
+        RedisGeoCommands.GeoSearchCommandArgs args = searchArgs(limit);
+
+        List<Object> results = pipeline(ops -> search(ops, cells, lat, lon, radiusMeter, args));
+        return collect(results, 0, results.size(), limit);
+    }
+
+    // 모든 중심의 셀 GEOSEARCH 를 한 pipeline 으로 보내고 중심별로 나눠 합침
+    @Override
+    public NearbyResult[] nearbyAll(double[] lats, double[] lons, double[] radiusMeters, int size) {
+        NearbyResult[] nearby = new NearbyResult[size];
+        if (size == 0) return nearby;
+
+        List<List<String>> cells = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cells.add(cellsAround(lats[i], lons[i], radiusMeters[i]));
+        }
+        RedisGeoCommands.GeoSearchCommandArgs args = searchArgs(0);
+
+        List<Object> results = pipeline(ops -> {
+            for (int i = 0; i < size; i++) {
+                search(ops, cells.get(i), lats[i], lons[i], radiusMeters[i], args);
+            }
+        });
+
+        int from = 0;
+        for (int i = 0; i < size; i++) {
+            int to = from + cells.get(i).size();
+            nearby[i] = collect(results, from, to, 0);
+            from = to;
+        }
+        return nearby;
+    }
+
+    // grid 초기 적재용 전체 위치 (userId → Point)
+    public Map<Long, Point> loadAll() {
+        Set<String> cells = redisTemplate.opsForSet().members(CELLS_KEY);
+        if (cells == null || cells.isEmpty()) return Map.of();
+
+        List<Object> seen = pipeline(ops -> {
+            for (String cell : cells) {
+                ops.opsForZSet().range(seenKey(cell), 0, -1);
+            }
+        });
+
+        Set<String> members = new LinkedHashSet<>();
+        for (Object cellMembers : seen) {
+            if (cellMembers instanceof Collection<?> c) {
+                c.forEach(m -> members.add(m.toString()));
+            }
+        }
+        return positions(members);
+    }
+
+    // 셀 분할 이전 단일 키 geo:user 가 남아 있으면 셀 키로 옮기고 삭제
+    public int migrateLegacy() {
+        Set<String> members = redisTemplate.opsForZSet().range(LEGACY_KEY, 0, -1);
+        if (members == null || members.isEmpty()) return 0;
+
+        List<String> names = new ArrayList<>(members);
+        List<Point> points = redisTemplate.opsForGeo().position(LEGACY_KEY, names.toArray(new String[0]));
+
+        long[] ids = new long[names.size()];
+        double[] lats = new double[names.size()];
+        double[] lons = new double[names.size()];
+        int size = 0;
+        for (int i = 0; i < names.size(); i++) {
+            Point p = (points == null) ? null : points.get(i);
+            if (p == null) continue;
+            ids[size] = Long.parseLong(names.get(i));
+            lats[size] = p.getY();
+            lons[size] = p.getX();
+            size++;
+        }
+
+        putAll(ids, lats, lons, size);
+        redisTemplate.delete(LEGACY_KEY);
+        return size;
+    }
+
+    // 전역 seen ZSET 이 남아 있으면 그 멤버를 다시 저장해 셀별 seen / 저장 시각이 있는 위치 기록으로 옮기고 삭제
+    public int migrateLegacySeen() {
+        Set<String> members = redisTemplate.opsForZSet().range(LEGACY_SEEN_KEY, 0, -1);
+        if (members == null || members.isEmpty()) return 0;
+
+        Map<Long, Point> positions = positions(members);
+        long[] ids = new long[positions.size()];
+        double[] lats = new double[positions.size()];
+        double[] lons = new double[positions.size()];
+        int size = 0;
+        for (Map.Entry<Long, Point> entry : positions.entrySet()) {
+            ids[size] = entry.getKey();
+            lats[size] = entry.getValue().getY();
+            lons[size] = entry.getValue().getX();
+            size++;
+        }
+
+        putAll(ids, lats, lons, size);
+        redisTemplate.delete(LEGACY_SEEN_KEY);
+        return size;
+    }
+
+    // 위치 기록에서 좌표만 읽음 (기록이 없는 멤버는 빠짐)
+    private Map<Long, Point> positions(Collection<String> members) {
+        if (members.isEmpty()) return Map.of();
+
+        List<String> names = new ArrayList<>(members);
+        List<Object> placements = pipeline(ops -> {
+            for (String name : names) {
+                ops.opsForValue().get(AT_KEY_PREFIX + name);
+            }
+        });
+
+        Map<Long, Point> result = new HashMap<>(names.size() * 2);
+        for (int i = 0; i < names.size(); i++) {
+            Object value = placements.get(i);
+            if (value == null) continue;
+            String[] parts = value.toString().split("\\|");
+            result.put(Long.valueOf(names.get(i)), new Point(Double.parseDouble(parts[2]), Double.parseDouble(parts[1])));
+        }
+        return result;
+    }
+
+    // CELLS_KEY 에 (다시) 등록할 셀 (노드마다 셀당 CELL_REGISTER_INTERVAL_MILLIS 에 한 번, 기록은 pipeline 성공 뒤)
+    private String[] cellsToRegister(Set<String> cells, long now) {
+        List<String> due = new ArrayList<>();
+        for (String cell : cells) {
+            Long next = registeredCells.get(cell);
+            if (next == null || next <= now) due.add(cell);
+        }
+        return due.toArray(new String[0]);
+    }
+
+    // 위치 기록을 꺼내며 지우고, 들어 있던 셀의 GEO / seen 에서 삭제
+    private void removeAll(long[] userIds) {
+        List<Object> placements = pipeline(ops -> {
+            for (long userId : userIds) {
+                ops.opsForValue().getAndDelete(AT_KEY_PREFIX + userId);
+            }
+        });
+
+        pipeline(ops -> {
+            for (int i = 0; i < userIds.length; i++) {
+                String cell = cellOfPlacement(placements.get(i));
+                if (cell != null) {
+                    ops.opsForGeo().remove(cellKey(cell), Long.toString(userIds[i]));
+                    ops.opsForZSet().remove(seenKey(cell), Long.toString(userIds[i]));
+                }
+            }
+        });
+    }
+
+    private static RedisGeoCommands.GeoSearchCommandArgs searchArgs(int limit) {
+        RedisGeoCommands.GeoSearchCommandArgs args = RedisGeoCommands.GeoSearchCommandArgs
+                .newGeoSearchArgs()
+                .includeDistance()
+                .sortAscending();
+        return (limit > 0) ? args.limit(limit) : args;
+    }
+
+    private static void search(RedisOperations<String, String> ops, List<String> cells,
+                               double lat, double lon, double radiusMeter,
+                               RedisGeoCommands.GeoSearchCommandArgs args) {
+        GeoReference<String> center = GeoReference.fromCoordinate(new Point(lon, lat));
+        GeoShape circle = GeoShape.byRadius(new Distance(radiusMeter, Metrics.METERS));
+        for (String cell : cells) {
+            ops.opsForGeo().search(cellKey(cell), center, circle, args);
+        }
+    }
+
+    // pipeline 결과 [from, to) 의 GEOSEARCH 결과를 합쳐서 거리순
+    private static NearbyResult collect(List<Object> results, int from, int to, int limit) {
+        long[] ids = new long[16];
+        double[] distances = new double[16];
+        int size = 0;
+
+        for (int i = from; i < to; i++) {
+            if (!(results.get(i) instanceof GeoResults<?> geoResults)) continue;
+
+            for (GeoResult<?> r : geoResults.getContent()) {
+                RedisGeoCommands.GeoLocation<?> location = (RedisGeoCommands.GeoLocation<?>) r.getContent();
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                    distances = Arrays.copyOf(distances, size * 2);
+                }
+                ids[size] = Long.parseLong(location.getName().toString());
+                distances[size] = r.getDistance().getValue();
+                size++;
+            }
+        }
+        return NearbyResult.sorted(ids, distances, size).limit(limit);
+    }
+
+    // 원의 외접 사각형과 겹치는 셀
+    private List<String> cellsAround(double lat, double lon, double radiusMeter) {
+        double latSpan = radiusMeter / GeoUtils.METERS_PER_DEGREE;
+        double cos = Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        double lonSpan = Math.min(180, latSpan / cos);
+
+        int minRow = index(lat - latSpan);
+        int maxRow = index(lat + latSpan);
+        int minCol = index(lon - lonSpan);
+        int maxCol = index(lon + lonSpan);
+
+        List<String> cells = new ArrayList<>((maxRow - minRow + 1) * (maxCol - minCol + 1));
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                cells.add(row + ":" + col);
+            }
+        }
+        return cells;
+    }
+
+    private String cellOf(double lat, double lon) {
+        return index(lat) + ":" + index(lon);
+    }
+
+    private int index(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    // {} 안이 클러스터 hash tag → 셀마다 슬롯이 갈림
+    private static String cellKey(String cell) {
+        return CELL_KEY_PREFIX + "{" + cell + "}";
+    }
+
+    // 셀 키와 같은 hash tag
+    private static String seenKey(String cell) {
+        return SEEN_KEY_PREFIX + "{" + cell + "}";
+    }
+
+    private static String placement(String cell, double lat, double lon, long seenAt) {
+        return cell + "|" + lat + "|" + lon + "|" + seenAt;
+    }
+
+    private static String cellOfPlacement(Object value) {
+        if (value == null) return null;
+        String s = value.toString();
+        int bar = s.indexOf('|');
+        return (bar < 0) ? s : s.substring(0, bar);
+    }
+
+    // 여러 명령을 한 번 왕복으로 (결과는 명령 순서대로)
+    private List<Object> pipeline(Consumer<RedisOperations<String, String>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+}
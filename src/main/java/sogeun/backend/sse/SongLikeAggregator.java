@@ -0,0 +1,129 @@
+package sogeun.backend.sse;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 송출 곡별 좋아요 수(broadcast_music_like) 증가분을 (sender_id, track_id) 별로 모았다가 한 번에 기록
+// 좋아요마다 조회 + save(@Version) 하지 않고, 주기마다 / threshold 건마다 multi-row upsert 한 문장
+@Slf4j
+@Component
+public class SongLikeAggregator {
+
+    private static final String UPSERT_PREFIX =
+            "insert into broadcast_music_like (sender_id, track_id, like_count, version) values ";
+    private static final String UPSERT_ROW = "(?, ?, ?, 0)";
+    // VALUES() 는 MySQL 8.0.20 부터 deprecated → 행 alias (8.0.19+) 로 새 행 값 참조
+    private static final String UPSERT_SUFFIX =
+            " as new on duplicate key update"
+                    + " like_count = broadcast_music_like.like_count + new.like_count,"
+                    + " version = broadcast_music_like.version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler taskScheduler;
+    private final int flushThreshold;
+    private final int maxRowsPerStatement;
+
+    // (sender, track) → 아직 기록 안 된 증가분 (merge / remove 가 키 단위로 원자적)
+    private final ConcurrentHashMap<Key, Integer> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingIncrements = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public SongLikeAggregator(
+            JdbcTemplate jdbcTemplate,
+            TaskScheduler taskScheduler,
+            @Value("${broadcast.song-like.flush-threshold:1000}") int flushThreshold,
+            @Value("${broadcast.song-like.max-rows-per-statement:500}") int maxRowsPerStatement
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskScheduler = taskScheduler;
+        this.flushThreshold = Math.max(1, flushThreshold);
+        this.maxRowsPerStatement = Math.max(1, maxRowsPerStatement);
+    }
+
+    public void add(Long senderId, Long trackId, int n) {
+        pending.merge(new Key(senderId, trackId), n, Integer::sum);
+
+        // 주기를 기다리지 않고 바로 한 번 flush
+        if (pendingIncrements.addAndGet(n) >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                flushScheduled.set(false);
+                flush();
+            }, Instant.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${broadcast.song-like.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    // 종료 전에 남은 증가분 기록
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    // flush 는 한 번에 하나만 (실패한 증가분은 다시 pending 으로)
+    public synchronized void flush() {
+        if (pending.isEmpty()) return;
+
+        List<Key> keys = new ArrayList<>(pending.size());
+        List<Integer> counts = new ArrayList<>(pending.size());
+        int increments = 0;
+        for (Key key : pending.keySet()) {
+            Integer count = pending.remove(key);
+            if (count == null) continue;
+            keys.add(key);
+            counts.add(count);
+            increments += count;
+        }
+        pendingIncrements.addAndGet(-increments);
+
+        int written = 0;
+        try {
+            for (; written < keys.size(); written += maxRowsPerStatement) {
+                upsert(keys, counts, written, Math.min(keys.size(), written + maxRowsPerStatement));
+            }
+            log.debug("[SONG-LIKE-FLUSH] rows={} increments={}", keys.size(), increments);
+        } catch (Exception e) {
+            log.warn("[SONG-LIKE-FLUSH] failed rows={} reason={}", keys.size() - written, e.toString());
+            for (int i = written; i < keys.size(); i++) {
+                pending.merge(keys.get(i), counts.get(i), Integer::sum);
+                pendingIncrements.addAndGet(counts.get(i));
+            }
+        }
+    }
+
+    private void upsert(List<Key> keys, List<Integer> counts, int from, int to) {
+        StringBuilder sql = new StringBuilder(UPSERT_PREFIX.length() + (to - from) * 14 + UPSERT_SUFFIX.length());
+        sql.append(UPSERT_PREFIX);
+        Object[] args = new Object[(to - from) * 3];
+
+        for (int i = from; i < to; i++) {
+            if (i > from) sql.append(',');
+            sql.append(UPSERT_ROW);
+
+            int a = (i - from) * 3;
+            args[a] = keys.get(i).senderId();
+            args[a + 1] = keys.get(i).trackId();
+            args[a + 2] = counts.get(i);
+        }
+        sql.append(UPSERT_SUFFIX);
+
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private record Key(Long senderId, Long trackId) {}
+}
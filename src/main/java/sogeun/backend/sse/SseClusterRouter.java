@@ -0,0 +1,136 @@
+package sogeun.backend.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+// fan-out 대상을 연결 소유 노드별로 나눠 전달
+// 로컬 대상은 바로 송신 큐에, 다른 노드 대상은 노드별 채널에 한 번씩 묶어서 publish
+// SSE id 는 연결을 가진 노드가 자기 sequence 로 붙임 (노드마다 id 공간이 달라 링 버퍼에 섞이지 않도록)
+@Slf4j
+@Component
+public class SseClusterRouter {
+
+    private static final String CHANNEL_PREFIX = "sse:node:";
+
+    private final SseRouteTable routeTable;
+    private final SseReplayBuffer replayBuffer;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    // 받은 이벤트도 로컬 fan-out 과 같은 lane 으로 (SseFanoutExecutor 가 이 클래스를 쓰므로 지연 조회)
+    private final ObjectProvider<SseFanoutExecutor> fanoutExecutor;
+
+    public SseClusterRouter(
+            SseRouteTable routeTable,
+            SseReplayBuffer replayBuffer,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+            ObjectProvider<SseFanoutExecutor> fanoutExecutor
+    ) {
+        this.routeTable = routeTable;
+        this.replayBuffer = replayBuffer;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.fanoutExecutor = fanoutExecutor;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (!routeTable.isEnabled()) return;
+
+        RedisMessageListenerContainer container = listenerContainer.getIfAvailable();
+        if (container == null) {
+            log.warn("[SSE-CLUSTER] no listener container, remote delivery disabled nodeId={}", routeTable.getNodeId());
+            return;
+        }
+
+        container.addMessageListener(this::onMessage, new ChannelTopic(channel(routeTable.getNodeId())));
+        log.info("[SSE-CLUSTER] subscribed channel={}", channel(routeTable.getNodeId()));
+    }
+
+    // fan-out lane 에서 호출 (frame 은 id 없는 상태)
+    public void deliver(List<Long> targetUserIds, SseFrame frame, Long senderId) {
+        String localNode = routeTable.getNodeId();
+
+        for (Map.Entry<String, List<Long>> entry : routeTable.groupByNode(targetUserIds).entrySet()) {
+            if (entry.getKey().equals(localNode)) {
+                deliverLocal(entry.getValue(), frame, senderId);
+            } else {
+                publish(entry.getKey(), new NodeMessage(
+                        frame.getName(),
+                        frame.getData(),
+                        frame.getCompact(),
+                        frame.isDroppable(),
+                        senderId,
+                        entry.getValue()
+                ));
+            }
+        }
+    }
+
+    // 이 노드 연결에 전달 (대상 유저의 lane 안에서만 호출 → 유저별로 id 가 증가하는 순서로 기록)
+    public void deliverLocal(List<Long> targetUserIds, SseFrame frame, Long senderId) {
+        long eventId = replayBuffer.nextId();
+        SseFrame framed = frame.withId(String.valueOf(eventId));
+
+        for (Long targetId : targetUserIds) {
+
+            if (targetId.equals(senderId)) continue;
+
+            // 재연결 대비 버퍼에 기록 + 연결별 송신 큐에 넣기만 함 (느린 연결이 나머지 대상을 막지 않음)
+            replayBuffer.deliver(targetId, eventId, framed);
+        }
+    }
+
+    private void publish(String nodeId, NodeMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel(nodeId), objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.warn("[SSE-CLUSTER] encode failed node={} event={}", nodeId, message.event());
+        } catch (Exception e) {
+            log.warn("[SSE-CLUSTER] publish failed node={} event={} targets={} reason={}",
+                    nodeId, message.event(), message.targets().size(), e.toString());
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        try {
+            NodeMessage m = objectMapper.readValue(message.getBody(), NodeMessage.class);
+            // id 는 이 노드 lane 에서 붙임
+            SseFrame encoded = SseFrame.event(m.event(), null, m.data()).withCompact(m.compact());
+            SseFrame frame = m.droppable() ? encoded.droppable() : encoded;
+            fanoutExecutor.getObject().dispatchLocal(m.targets(), frame, m.senderId());
+        } catch (IOException e) {
+            log.warn("[SSE-CLUSTER] decode failed reason={}", e.toString());
+        }
+    }
+
+    private static String channel(String nodeId) {
+        return CHANNEL_PREFIX + nodeId;
+    }
+
+    // 노드 간 전달 메시지 (직렬화된 data / compact 원본 + 그 노드가 소유한 대상 목록, id 는 받는 노드가 붙임)
+    public record NodeMessage(
+            String event,
+            String data,
+            SseCompactPayload compact,
+            boolean droppable,
+            Long senderId,
+            List<Long> targets
+    ) {}
+}
@@ -0,0 +1,132 @@
+package sogeun.backend.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import sogeun.backend.sse.dto.BroadcastEventDto;
+import sogeun.backend.sse.dto.BroadcastLikeEventDto;
+import sogeun.backend.sse.dto.MusicDto;
+import sogeun.backend.sse.dto.UserNearbyResponse;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// COMPACT / MSGPACK 인코딩용 짧은 키 구조
+// full = 음악 정보 전체, ref = 음악을 trackId("mr") 로만 담은 형태 (해당 연결에 이미 보낸 곡일 때)
+//
+// 키: t=type s=senderId b=broadcastId n=nickname m=music(i,t,a,w,p) mr=music trackId l=likeCount r=radiusMeter ts=timestamp
+//     snapshot 항목: u=userId on=isBroadcasting d=distanceMeter
+public record SseCompactPayload(Long trackId, Object full, Object ref) {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper MSGPACK = new ObjectMapper(new MessagePackFactory());
+
+    // 짧은 키 구조가 정의된 DTO 만 변환, 나머지는 null (→ 모든 연결에 기존 JSON)
+    public static SseCompactPayload from(Object data) {
+        if (data instanceof BroadcastEventDto e) {
+            return ofBroadcast(e);
+        }
+        if (data instanceof BroadcastLikeEventDto e) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            put(m, "s", e.getSenderId());
+            put(m, "b", e.getBroadcastId());
+            m.put("l", e.getLikeCount());
+            m.put("r", e.getRadiusMeter());
+            return new SseCompactPayload(null, m, null);
+        }
+        if (data instanceof List<?> list && list.stream().allMatch(UserNearbyResponse.class::isInstance)) {
+            List<Map<String, Object>> items = new ArrayList<>(list.size());
+            for (Object item : list) {
+                items.add(nearby((UserNearbyResponse) item));
+            }
+            return new SseCompactPayload(null, items, null);
+        }
+        return null;
+    }
+
+    private static SseCompactPayload ofBroadcast(BroadcastEventDto e) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        put(m, "t", shortType(e.getType()));
+        put(m, "s", e.getSenderId());
+        put(m, "b", e.getBroadcastId());
+        put(m, "n", e.getNickname());
+        put(m, "l", e.getLikeCount());
+        put(m, "r", e.getRadiusMeter());
+        m.put("ts", e.getTs());
+        // eventId(UUID) 는 SSE id: 라인과 중복이라 생략
+
+        MusicDto music = e.getMusic();
+        if (music == null) {
+            return new SseCompactPayload(null, m, null);
+        }
+
+        Map<String, Object> full = new LinkedHashMap<>(m);
+        full.put("m", music(music));
+
+        if (music.getTrackId() == null) {
+            return new SseCompactPayload(null, full, null);
+        }
+
+        Map<String, Object> ref = new LinkedHashMap<>(m);
+        ref.put("mr", music.getTrackId());
+        return new SseCompactPayload(music.getTrackId(), full, ref);
+    }
+
+    private static Map<String, Object> nearby(UserNearbyResponse r) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        put(m, "u", r.userId());
+        put(m, "n", r.nickname());
+        m.put("on", r.isBroadcasting());
+        put(m, "b", r.broadcastId());
+        if (r.music() != null) m.put("m", music(r.music()));
+        put(m, "r", r.radiusMeter());
+        put(m, "l", r.likeCount());
+        put(m, "d", r.distanceMeter());
+        return m;
+    }
+
+    private static Map<String, Object> music(MusicDto music) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        put(m, "i", music.getTrackId());
+        put(m, "t", music.getTitle());
+        put(m, "a", music.getArtist());
+        put(m, "w", music.getArtworkUrl());
+        put(m, "p", music.getPreviewUrl());
+        return m;
+    }
+
+    private static String shortType(String type) {
+        if (type == null) return null;
+        return switch (type) {
+            case "BROADCAST_ON" -> "on";
+            case "BROADCAST_OFF" -> "off";
+            case "BROADCAST_LIKE" -> "like";
+            case "BROADCAST_MUSIC" -> "music";
+            default -> type;
+        };
+    }
+
+    private static void put(Map<String, Object> m, String key, Object value) {
+        if (value != null) m.put(key, value);
+    }
+
+    public boolean hasReference() {
+        return ref != null;
+    }
+
+    // encoding 은 COMPACT / MSGPACK 만
+    public String encode(SseEncoding encoding, boolean reference) {
+        Object body = (reference && ref != null) ? ref : full;
+        try {
+            if (encoding == SseEncoding.MSGPACK) {
+                return Base64.getEncoder().encodeToString(MSGPACK.writeValueAsBytes(body));
+            }
+            return JSON.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("SSE compact 인코딩 실패 encoding=" + encoding, e);
+        }
+    }
+}
@@ -6,7 +6,9 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -18,44 +20,47 @@ public class SseConnectController {
             LoggerFactory.getLogger(SseConnectController.class);
 
     private final SseEmitterRegistry registry;
+    private final SseConnectService connectService;
 
-    public SseConnectController(SseEmitterRegistry registry) {
+    public SseConnectController(SseEmitterRegistry registry, SseConnectService connectService) {
         this.registry = registry;
+        this.connectService = connectService;
     }
 
 
     @GetMapping(value = "/sse/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter stream(Authentication authentication) {
+    public SseEmitter stream(
+            Authentication authentication,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "encoding", required = false) String encodingParam,
+            @RequestHeader(value = "X-SSE-Encoding", required = false) String encodingHeader,
+            @RequestParam(value = "subscribe", required = false) String subscribe
+    ) {
         Long userId = Long.valueOf(authentication.getName());
+        // 쿼리 파라미터 우선, 없으면 헤더
+        SseEncoding encoding = SseEncoding.from(encodingParam != null ? encodingParam : encodingHeader);
+        boolean subscribeNearby = "nearby".equalsIgnoreCase(subscribe);
 
-        log.info("[SSE-CONNECT] userId={} connect request", userId);
+        log.info("[SSE-CONNECT] userId={} connect request lastEventId={}", userId, lastEventId);
 
         SseEmitter emitter = new SseEmitter(0L);
         log.info("[SSE-EMITTER] userId={} created", userId);
 
-        registry.addOrReplace(userId, emitter);
-        log.info("[SSE-REGISTRY] userId={} registered size={}", userId, registry.size());
+        SseConnection connection = connectService.open(userId, lastEventId, new EmitterSseSink(emitter), encoding, subscribeNearby);
 
         emitter.onCompletion(() -> {
-            registry.remove(userId);
+            registry.remove(userId, connection);
             log.info("[SSE-DONE] userId={} completion (removed) size={}", userId, registry.size());
         });
         emitter.onTimeout(() -> {
-            registry.remove(userId);
+            registry.remove(userId, connection);
             log.warn("[SSE-TIMEOUT] userId={} timeout (removed) size={}", userId, registry.size());
         });
         emitter.onError(e -> {
-            registry.remove(userId);
+            registry.remove(userId, connection);
             log.warn("[SSE-ERROR] userId={} error={} (removed) size={}", userId, e.toString(), registry.size(), e);
         });
 
-        try {
-            emitter.send(SseEmitter.event().name("init").data("ok"));
-            log.info("[SSE-SEND] userId={} init sent", userId);
-        } catch (Exception e) {
-            log.warn("[SSE-SEND-FAIL] userId={} fail={}", userId, e.toString(), e);
-        }
-
         return emitter;
     }
 
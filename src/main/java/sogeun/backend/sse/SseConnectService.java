@@ -0,0 +1,85 @@
+package sogeun.backend.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import sogeun.backend.service.UserService;
+import sogeun.backend.sse.dto.UserNearbyResponse;
+
+import java.util.List;
+
+// SSE 연결 수립 공통 처리 (등록 → init → 재전송 → 필요하면 스냅샷)
+//
+// nearby 구독(?subscribe=nearby): 연결 시 nearby.snapshot 한 번, 이후에는 변경분만
+//   broadcast.on    → 주변 방송 추가 (카드 전체)
+//   broadcast.off   → 주변 방송 제거
+//   broadcast.like  → 좋아요 수 / 반경 변경
+//   broadcast.music → 음악 변경
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SseConnectService {
+
+    private static final SseFrame INIT = SseFrame.event("init", null, "ok");
+
+    private final SseEmitterRegistry registry;
+    private final SseReplayBuffer replayBuffer;
+    private final UserService userService;
+    private final BroadcastAudienceTracker audienceTracker;
+    private final ObjectMapper objectMapper;
+
+    // 등록 → init → 놓친 이벤트 재전송 순서로 큐에 넣음
+    public SseConnection open(
+            Long userId,
+            String lastEventId,
+            SseSink sink,
+            SseEncoding encoding,
+            boolean subscribeNearby
+    ) {
+        SseReplayBuffer.Replay replay = replayBuffer.attach(userId, lastEventId, () -> {
+            SseConnection registered = registry.addOrReplace(userId, sink, encoding);
+            registry.send(registered, INIT);
+            return registered;
+        }, attached -> {
+            // 구독 스냅샷은 ring 락 안에서 재전송 바로 뒤에 넣음 → 그 사이 on / off 가 스냅샷보다 먼저 나가지 않음
+            // 구독 스냅샷이 현재 상태 전체라 재연결 공백 스냅샷은 따로 안 보냄
+            if (subscribeNearby) sendNearbySnapshot(userId, attached.connection());
+        });
+        SseConnection connection = replay.connection();
+        log.info("[SSE-REGISTRY] userId={} registered size={} replayed={} encoding={}",
+                userId, registry.size(), replay.replayed(), encoding);
+
+        // 공백 스냅샷은 DB 조회라 락 밖에서 (이 유저의 fan-out lane 을 막지 않도록)
+        if (!subscribeNearby && replay.gap()) {
+            sendSnapshot(userId, connection);
+        }
+        return connection;
+    }
+
+    // 나를 대상에 둔 송출자 카드 (메모리 집합에서 바로, DB / geo 조회 없음)
+    private void sendNearbySnapshot(Long userId, SseConnection connection) {
+        try {
+            List<UserNearbyResponse> nearby = audienceTracker.nearbyOf(userId);
+            SseFrame snapshot = SseFrame.json(
+                    "nearby.snapshot", String.valueOf(replayBuffer.currentId()), nearby, objectMapper);
+            registry.send(connection, snapshot);
+            log.info("[SSE-SUBSCRIBE] userId={} nearby={}", userId, nearby.size());
+        } catch (Exception e) {
+            log.warn("[SSE-SUBSCRIBE] snapshot failed userId={} reason={}", userId, e.toString());
+        }
+    }
+
+    // 재연결 공백이 버퍼보다 길면 주변 방송 전체 상태를 한 번에 보냄
+    private void sendSnapshot(Long userId, SseConnection connection) {
+        try {
+            List<UserNearbyResponse> nearby = userService.findNearbyBroadcastingUsers(userId);
+            SseFrame snapshot = SseFrame.json(
+                    "snapshot", String.valueOf(replayBuffer.currentId()), nearby, objectMapper);
+            registry.send(connection, snapshot);
+            log.info("[SSE-SNAPSHOT] userId={} nearby={}", userId, nearby.size());
+        } catch (Exception e) {
+            log.warn("[SSE-SNAPSHOT] failed userId={} reason={}", userId, e.toString());
+        }
+    }
+}
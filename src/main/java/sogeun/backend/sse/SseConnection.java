@@ -0,0 +1,218 @@
+package sogeun.backend.sse;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+// SSE 연결 하나 = 출력 sink(emitter / flux) + 전용 mailbox (연결당 actor)
+// 생산자(fan-out, heartbeat, afterCommit 등)는 lock-free mailbox 에 넣기만 하고 바로 반환
+// sink 쓰기는 draining 플래그를 잡은 writer 하나만 순서대로 처리 → emitter 내부 락 경합 없음
+@Slf4j
+public class SseConnection {
+
+    // 한 번 drain 할 때 최대로 쓰는 프레임 수 (느린 연결이 writer 스레드를 독점하지 않도록)
+    private static final int DRAIN_BATCH = 64;
+
+    // 음악 참조용으로 기억하는 곡 수 상한 (넘으면 비우고 다시 전체 정보부터)
+    private static final int MAX_SENT_TRACKS = 512;
+
+    public enum Offer {
+        ENQUEUED,   // 큐에 들어감
+        DROPPED,    // high-water 초과로 저우선순위 이벤트 버림
+        EVICT,      // 너무 오래 밀려 있거나 큐가 가득 참 → 연결 끊어야 함
+        CLOSED      // 이미 닫힌 연결
+    }
+
+    private final Long userId;
+    private final SseSink sink;
+    private final SseEncoding encoding;
+    // MPSC mailbox: 생산자 여럿 / 소비자(writer) 하나, 용량은 size 카운터로 제한
+    private final ConcurrentLinkedQueue<SseFrame> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+    private final int highWaterMark;
+    private final long maxLagMillis;
+    private final Executor writerExecutor;
+    private final BiConsumer<SseConnection, Throwable> onWriteFailure;
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    // 이 연결에 음악 정보 전체를 이미 보낸 trackId (writer 만 접근)
+    private final Set<Long> sentTracks = new HashSet<>();
+    private volatile boolean closed;
+
+    private final long connectedAt = System.currentTimeMillis();
+
+    // 마지막으로 소켓에 쓴 시각 (heartbeat 생략 판단용)
+    private volatile long lastWriteAt = connectedAt;
+
+    // high-water 를 넘긴 시각 (0 = 정상)
+    private volatile long behindSince;
+
+    // 진행 중인 sink.write 시작 시각 (0 = 쓰는 중 아님)
+    private volatile long writeStartedAt;
+
+    public SseConnection(
+            Long userId,
+            SseSink sink,
+            SseEncoding encoding,
+            int capacity,
+            int highWaterMark,
+            long maxLagMillis,
+            Executor writerExecutor,
+            BiConsumer<SseConnection, Throwable> onWriteFailure
+    ) {
+        this.userId = userId;
+        this.sink = sink;
+        this.encoding = encoding;
+        this.capacity = capacity;
+        this.highWaterMark = Math.min(highWaterMark, capacity);
+        this.maxLagMillis = maxLagMillis;
+        this.writerExecutor = writerExecutor;
+        this.onWriteFailure = onWriteFailure;
+    }
+
+    public Offer offer(SseFrame frame) {
+        if (closed) return Offer.CLOSED;
+
+        if (size.get() >= highWaterMark) {
+            long now = System.currentTimeMillis();
+            if (behindSince == 0L) {
+                behindSince = now;
+            } else if (now - behindSince > maxLagMillis) {
+                return Offer.EVICT;
+            }
+            if (frame.isDroppable()) {
+                return Offer.DROPPED;
+            }
+        }
+
+        // 자리 먼저 예약 (CAS 한 번, 블로킹 없음)
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return Offer.EVICT;
+        }
+        mailbox.offer(frame);
+
+        scheduleDrain();
+        return Offer.ENQUEUED;
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) return;
+
+        try {
+            writerExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            fail(e);
+        }
+    }
+
+    private void drain() {
+        Exception failure = null;
+        try {
+            SseFrame frame;
+            int written = 0;
+            while (!closed && written < DRAIN_BATCH && (frame = mailbox.poll()) != null) {
+                size.decrementAndGet();
+                writeStartedAt = System.currentTimeMillis();
+                sink.write(encode(frame));
+                writeStartedAt = 0L;
+                written++;
+            }
+            if (written > 0) {
+                lastWriteAt = System.currentTimeMillis();
+            }
+            if (size.get() < highWaterMark) {
+                behindSince = 0L;
+            }
+        } catch (IOException | RuntimeException e) {
+            // 인코딩 실패 / emitter 예외 등 무엇이든 연결을 닫음 (flag 가 남으면 이후 writer 가 다시 예약되지 않음)
+            failure = e;
+        } finally {
+            writeStartedAt = 0L;
+            draining.set(false);
+        }
+
+        if (failure != null) {
+            fail(failure);
+            return;
+        }
+
+        // drain 종료 직전에 들어온 프레임이 있으면 다시 예약
+        if (!closed && !mailbox.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    // 연결 인코딩으로 변환 (같은 곡은 처음 한 번만 음악 정보 전체를 보냄)
+    private SseFrame encode(SseFrame frame) {
+        if (encoding == SseEncoding.JSON) return frame;
+
+        Long trackId = frame.getTrackId();
+        if (trackId == null) {
+            return frame.encodeFor(encoding, false);
+        }
+        if (sentTracks.size() >= MAX_SENT_TRACKS) {
+            sentTracks.clear();
+        }
+        return frame.encodeFor(encoding, !sentTracks.add(trackId));
+    }
+
+    private void fail(Throwable e) {
+        if (closed) return;
+        closed = true;
+        mailbox.clear();
+        size.set(0);
+
+        log.warn("[SSE-WRITE] failed userId={} reason={}", userId, e.toString());
+        onWriteFailure.accept(this, e);
+
+        try {
+            sink.completeWithError(e);
+        } catch (Exception ignore) {
+            // 이미 종료된 경우 등
+        }
+    }
+
+    // 연결 종료 (남은 큐는 버림)
+    public void close() {
+        if (closed) return;
+        closed = true;
+        mailbox.clear();
+        size.set(0);
+
+        try {
+            sink.complete();
+        } catch (Exception ignore) {
+            // 이미 종료된 경우 등
+        }
+    }
+
+    // write 한 번이 timeoutMillis 넘게 끝나지 않음 (소켓 버퍼가 찬 느린 클라이언트)
+    public boolean isWriteStalled(long now, long timeoutMillis) {
+        long startedAt = writeStartedAt;
+        return !closed && startedAt != 0L && now - startedAt > timeoutMillis;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public SseEncoding getEncoding() { return encoding; }
+
+    public int queueDepth() { return size.get(); }
+
+    public long getConnectedAt() { return connectedAt; }
+
+    public long getLastWriteAt() { return lastWriteAt; }
+
+    public boolean isClosed() { return closed; }
+}
@@ -1,12 +1,24 @@
 package sogeun.backend.sse;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class SseEmitterRegistry {
@@ -14,46 +26,215 @@ public class SseEmitterRegistry {
     private static final Logger log =
             LoggerFactory.getLogger(SseEmitterRegistry.class);
 
-    private final ConcurrentHashMap<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, SseConnection> connections = new ConcurrentHashMap<>();
+    private final SseHeartbeatWheel heartbeatWheel;
+    private final SseRouteTable routeTable;
 
-    //같은 userId로 새 연결이 오면, 기존 emitter를 종료하고 새 emitter로 교체
-    public void addOrReplace(Long userId, SseEmitter newEmitter) {
-        SseEmitter old = emitters.put(userId, newEmitter);
+    // 연결별 송신 큐를 비우는 writer 스레드
+    // 연결당 drain 작업은 최대 1개만 대기하므로 작업 큐 길이는 연결 수를 넘지 않음
+    // 느린 소켓에 막힌 write 가 스레드를 잡고 있어도 나머지 연결은 다른 스레드에서 계속 쓰도록
+    // 최대 sse.writer.threads 까지 필요할 때 늘리고 쉬면 줄임 (virtual-threads=true 면 drain 마다 virtual thread)
+    private final Executor writerExecutor;
 
-        if (old != null && old != newEmitter) {
+    private final int queueCapacity;
+    private final int highWaterMark;
+    private final long maxLagMillis;
+
+    // write 한 번이 이보다 오래 막혀 있으면 연결을 끊음
+    private final long writeTimeoutMillis;
+
+    private final Counter droppedCounter;
+    private final Counter evictedCounter;
+
+    public SseEmitterRegistry(
+            SseHeartbeatWheel heartbeatWheel,
+            SseRouteTable routeTable,
+            MeterRegistry meterRegistry,
+            @Value("${sse.outbound.capacity:256}") int queueCapacity,
+            @Value("${sse.outbound.high-water-mark:64}") int highWaterMark,
+            @Value("${sse.outbound.max-lag-ms:15000}") long maxLagMillis,
+            @Value("${sse.writer.threads:256}") int writerThreads,
+            @Value("${sse.writer.virtual-threads:false}") boolean virtualThreads,
+            @Value("${sse.writer.write-timeout-ms:10000}") long writeTimeoutMillis
+    ) {
+        this.heartbeatWheel = heartbeatWheel;
+        this.routeTable = routeTable;
+        this.queueCapacity = queueCapacity;
+        this.highWaterMark = highWaterMark;
+        this.maxLagMillis = maxLagMillis;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+
+        if (virtualThreads) {
+            // JDK 21 이상에서만 동작
+            this.writerExecutor = new VirtualThreadTaskExecutor("sse-writer-");
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    writerThreads,
+                    writerThreads,
+                    30L,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new CustomizableThreadFactory("sse-writer-")
+            );
+            // 놀고 있는 writer 는 정리 (core 까지는 작업이 올 때마다 새 스레드)
+            pool.allowCoreThreadTimeOut(true);
+            this.writerExecutor = pool;
+        }
+
+        Gauge.builder("sse.connections", connections, Map::size)
+                .description("현재 SSE 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("sse.outbound.queue.depth", this, SseEmitterRegistry::totalQueueDepth)
+                .description("모든 연결의 송신 대기 프레임 합계")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("sse.outbound.dropped")
+                .description("high-water 초과로 버린 저우선순위 프레임 수")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("sse.outbound.evicted")
+                .description("느린 소비자로 판단돼 끊은 연결 수")
+                .register(meterRegistry);
+    }
+
+    //같은 userId로 새 연결이 오면, 기존 연결을 종료하고 새 연결로 교체
+    public SseConnection addOrReplace(Long userId, SseSink sink, SseEncoding encoding) {
+        SseConnection connection = new SseConnection(
+                userId,
+                sink,
+                encoding,
+                queueCapacity,
+                highWaterMark,
+                maxLagMillis,
+                writerExecutor,
+                (c, e) -> unregister(c)
+        );
+
+        SseConnection old = connections.put(userId, connection);
+        heartbeatWheel.add(connection);
+        routeTable.claim(userId); // 이 노드가 연결 소유
+
+        if (old != null) {
             log.info("[SSE-REPLACE] userId={} old emitter exists → complete old", userId);
-            try {
-                old.complete(); // 기존 연결 종료
-            } catch (Exception ignore) {
-                // 이미 종료된 경우 등
+            heartbeatWheel.remove(old);
+            old.close(); // 기존 연결 종료
+        }
+        return connection;
+    }
+
+    // 송신 큐에 프레임 추가 (소켓 쓰기는 writer 스레드에서)
+    // 큐에 들어갔으면 true
+    public boolean send(Long userId, SseFrame frame) {
+        SseConnection connection = connections.get(userId);
+        if (connection == null) return false;
+
+        return send(connection, frame);
+    }
+
+    public boolean send(SseConnection connection, SseFrame frame) {
+        switch (connection.offer(frame)) {
+            case ENQUEUED:
+                return true;
+            case DROPPED:
+                droppedCounter.increment();
+                log.debug("[SSE-DROP] userId={} event={} depth={}",
+                        connection.getUserId(), frame.getName(), connection.queueDepth());
+                return false;
+            case EVICT:
+                evict(connection);
+                return false;
+            default:
+                unregister(connection);
+                return false;
+        }
+    }
+
+    private void evict(SseConnection connection) {
+        if (unregister(connection)) {
+            evictedCounter.increment();
+            log.warn("[SSE-EVICT] userId={} slow consumer depth={}", connection.getUserId(), connection.queueDepth());
+        }
+        close(connection);
+    }
+
+    // write 한 번이 write-timeout 보다 오래 막힌 연결 정리 (막힌 writer 스레드는 소켓 오류로 풀려남)
+    @Scheduled(fixedDelayString = "${sse.writer.stall-check-ms:1000}")
+    public void evictStalled() {
+        if (writeTimeoutMillis <= 0) return;
+
+        long now = System.currentTimeMillis();
+        for (SseConnection connection : connections.values()) {
+            if (!connection.isWriteStalled(now, writeTimeoutMillis)) continue;
+
+            if (unregister(connection)) {
+                evictedCounter.increment();
+                log.warn("[SSE-STALL] userId={} write blocked over {}ms", connection.getUserId(), writeTimeoutMillis);
             }
+            close(connection);
+        }
+    }
+
+    // emitter 종료는 막힌 send 와 같은 락을 기다릴 수 있어 fan-out / scheduler 스레드가 아닌 writer 스레드에서
+    private void close(SseConnection connection) {
+        try {
+            writerExecutor.execute(connection::close);
+        } catch (RejectedExecutionException e) {
+            connection.close();
         }
     }
 
     //연결 해제
     public void disconnect(Long userId) {
-        SseEmitter emitter = emitters.remove(userId); // 먼저 제거
+        SseConnection connection = connections.remove(userId); // 먼저 제거
 
-        if (emitter != null) {
+        if (connection != null) {
+            heartbeatWheel.remove(connection);
+            routeTable.release(userId);
             log.info("[SSE-DISCONNECT] userId={} complete emitter", userId);
-            try {
-                emitter.complete(); // 실제 연결 종료
-            } catch (Exception ignore) {
-            }
+            connection.close(); // 실제 연결 종료
         }
     }
 
-    public SseEmitter get(Long userId) {
-        return emitters.get(userId);
+    public SseConnection get(Long userId) {
+        return connections.get(userId);
     }
 
-    public void remove(Long userId) {
-        emitters.remove(userId);
+    // 해당 연결이 아직 등록된 연결일 때만 제거 (교체된 이전 연결의 콜백이 새 연결을 지우지 않도록)
+    public void remove(Long userId, SseConnection connection) {
+        if (unregister(connection)) {
+            log.debug("[SSE-REMOVE] userId={}", userId);
+        }
     }
 
-    public Iterable<Map.Entry<Long, SseEmitter>> entries() {
-        return emitters.entrySet();
+    private boolean unregister(SseConnection connection) {
+        boolean removed = connections.remove(connection.getUserId(), connection);
+        heartbeatWheel.remove(connection);
+        if (removed) {
+            routeTable.release(connection.getUserId());
+        }
+        return removed;
     }
 
-    public int size() { return emitters.size(); }
+    public Iterable<Map.Entry<Long, SseConnection>> entries() {
+        return connections.entrySet();
+    }
+
+    public int size() { return connections.size(); }
+
+    private double totalQueueDepth() {
+        long total = 0;
+        for (SseConnection connection : connections.values()) {
+            total += connection.queueDepth();
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 종료되는 노드를 가리키는 라우트 정리
+        for (Long userId : connections.keySet()) {
+            routeTable.release(userId);
+        }
+        if (writerExecutor instanceof ThreadPoolExecutor pool) {
+            pool.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package sogeun.backend.sse;
+
+// SSE data 인코딩 (연결 시 ?encoding= 또는 X-SSE-Encoding 헤더로 선택)
+public enum SseEncoding {
+
+    JSON,       // 기존 DTO JSON 그대로 (기본값)
+    COMPACT,    // 짧은 키 JSON, null 필드 생략, 이미 보낸 곡은 trackId 참조만
+    MSGPACK;    // COMPACT 와 같은 구조를 MessagePack 으로 인코딩 후 base64
+
+    // 알 수 없는 값이면 JSON 으로
+    public static SseEncoding from(String value) {
+        if (value == null || value.isBlank()) return JSON;
+        for (SseEncoding encoding : values()) {
+            if (encoding.name().equalsIgnoreCase(value.trim())) return encoding;
+        }
+        return JSON;
+    }
+}
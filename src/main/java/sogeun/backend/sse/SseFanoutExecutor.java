@@ -0,0 +1,198 @@
+package sogeun.backend.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 방송 이벤트 fan-out 전용 실행기
+// 요청 스레드 / afterCommit 훅에서는 작업만 넘기고 바로 반환, 실제 전송은 전용 스레드에서 chunk 단위로 처리
+// 대상 유저를 userId 로 단일 스레드 lane 에 나눠 담음 → 같은 유저에게 가는 이벤트는 dispatch 호출 순서대로 전달
+// (SSE id 는 연결을 가진 노드가 lane 안에서 붙이므로 유저별 링 버퍼에 id 오름차순으로 쌓임)
+@Slf4j
+@Component
+public class SseFanoutExecutor {
+
+    // 다음 이벤트가 최신 상태를 다시 담아 오므로, 밀린 연결에서는 버려도 되는 이벤트
+    private static final Set<String> DROPPABLE_EVENTS = Set.of("broadcast.like");
+
+    private final SseClusterRouter clusterRouter;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor[] lanes;
+    private final int chunkSize;
+
+    private final Timer fanoutTimer;
+    private final Counter backpressureCounter;
+
+    public SseFanoutExecutor(
+            SseClusterRouter clusterRouter,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${sse.fanout.threads:4}") int threads,
+            @Value("${sse.fanout.queue-capacity:1000}") int queueCapacity,
+            @Value("${sse.fanout.chunk-size:200}") int chunkSize,
+            @Value("${sse.fanout.virtual-threads:false}") boolean virtualThreads
+    ) {
+        this.clusterRouter = clusterRouter;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+
+        this.fanoutTimer = Timer.builder("sse.fanout.duration")
+                .description("fan-out 요청부터 마지막 chunk 전송 완료까지 걸린 시간")
+                .register(meterRegistry);
+        this.backpressureCounter = Counter.builder("sse.fanout.backpressure")
+                .description("lane 큐 포화로 호출 스레드가 대기한 chunk 수")
+                .register(meterRegistry);
+
+        // virtual-threads=true 는 JDK 21 이상에서만 동작
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor("sse-fanout-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("sse-fanout-");
+
+        this.lanes = new ThreadPoolExecutor[Math.max(1, threads)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(
+                    1,
+                    1,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    threadFactory,
+                    (task, pool) -> {
+                        // 큐가 꽉 차면 자리가 날 때까지 호출 스레드가 대기 (직접 실행하면 lane 순서가 깨짐)
+                        backpressureCounter.increment();
+                        if (pool.isShutdown()) return;
+                        try {
+                            pool.getQueue().put(task);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("sse fan-out interrupted", e);
+                        }
+                    }
+            );
+        }
+
+        Gauge.builder("sse.fanout.queue.depth", this, SseFanoutExecutor::queueDepth)
+                .description("대기 중인 fan-out chunk 수")
+                .register(meterRegistry);
+        Gauge.builder("sse.fanout.active", this, SseFanoutExecutor::activeCount)
+                .description("전송 중인 fan-out lane 수")
+                .register(meterRegistry);
+
+        log.info("[SSE-FANOUT] init lanes={} queueCapacity={} chunkSize={} virtualThreads={}",
+                lanes.length, queueCapacity, this.chunkSize, virtualThreads);
+    }
+
+    // 대상 목록을 lane / chunk 로 나눠 비동기 전송 (호출 스레드는 바로 반환)
+    public void dispatch(List<Long> targetUserIds, String eventName, Long senderId, Object data) {
+        if (targetUserIds == null || targetUserIds.isEmpty()) return;
+
+        // 수신자 수와 상관없이 이벤트는 여기서 한 번만 직렬화
+        SseFrame encoded = SseFrame.json(eventName, null, data, objectMapper);
+        SseFrame frame = DROPPABLE_EVENTS.contains(eventName) ? encoded.droppable() : encoded;
+
+        List<List<Long>> chunks = split(targetUserIds);
+        long startedAt = System.nanoTime();
+        AtomicInteger remaining = new AtomicInteger(chunks.size());
+
+        for (List<Long> chunk : chunks) {
+            lanes[laneOf(chunk.get(0))].execute(() -> {
+                try {
+                    // 로컬 연결은 송신 큐로, 다른 노드 연결은 노드별 채널로 한 번에
+                    clusterRouter.deliver(chunk, frame, senderId);
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        fanoutTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                }
+            });
+        }
+
+        log.debug("[SSE-FANOUT] dispatched event={} senderId={} targets={} chunks={}",
+                eventName, senderId, targetUserIds.size(), chunks.size());
+    }
+
+    // 다른 노드에서 넘어온 이벤트를 이 노드 연결에 전달 (로컬 fan-out 과 같은 lane 순서)
+    public void dispatchLocal(List<Long> targetUserIds, SseFrame frame, Long senderId) {
+        if (targetUserIds == null || targetUserIds.isEmpty()) return;
+
+        for (List<Long> chunk : split(targetUserIds)) {
+            lanes[laneOf(chunk.get(0))].execute(() -> clusterRouter.deliverLocal(chunk, frame, senderId));
+        }
+    }
+
+    // lane 별로 모은 뒤 chunkSize 씩 (chunk 하나는 한 lane 의 유저만)
+    private List<List<Long>> split(List<Long> targetUserIds) {
+        List<List<Long>> byLane = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            byLane.add(new ArrayList<>());
+        }
+        for (Long userId : targetUserIds) {
+            byLane.get(laneOf(userId)).add(userId);
+        }
+
+        List<List<Long>> chunks = new ArrayList<>();
+        for (List<Long> laneTargets : byLane) {
+            for (int from = 0; from < laneTargets.size(); from += chunkSize) {
+                chunks.add(laneTargets.subList(from, Math.min(laneTargets.size(), from + chunkSize)));
+            }
+        }
+        return chunks;
+    }
+
+    private int laneOf(long userId) {
+        return (int) Math.floorMod(userId, (long) lanes.length);
+    }
+
+    private double queueDepth() {
+        long total = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            total += lane.getQueue().size();
+        }
+        return total;
+    }
+
+    private double activeCount() {
+        int total = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            total += lane.getActiveCount();
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                if (!lane.awaitTermination(5, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            for (ThreadPoolExecutor lane : lanes) {
+                lane.shutdownNow();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package sogeun.backend.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 미리 인코딩된 SSE 프레임 (id / event / data 를 UTF-8 바이트로 한 번만 만들어 둠)
+// fan-out 시 수신자마다 Jackson 직렬화를 반복하지 않고 같은 바이트를 그대로 씀
+public final class SseFrame {
+
+    private final String name;
+    private final String id;
+    private final String data;
+    private final String comment;
+    private final byte[] bytes;
+
+    // emitter.send(Set) 에 그대로 넘기는 불변 payload (스레드 간 공유 가능)
+    private final Set<ResponseBodyEmitter.DataWithMediaType> payload;
+
+    // 느린 연결에서 밀려 있을 때 버려도 되는 이벤트인지 (ping, like 갱신 등)
+    private final boolean droppable;
+
+    // COMPACT / MSGPACK 연결용 원본 (null 이면 모든 연결에 이 프레임 그대로)
+    private final SseCompactPayload compact;
+
+    // 인코딩별 프레임 [COMPACT full, COMPACT ref, MSGPACK full, MSGPACK ref] - fan-out 당 변형마다 한 번만 인코딩
+    private final AtomicReferenceArray<SseFrame> variants;
+
+    private SseFrame(String name, String id, String data, String comment, byte[] bytes, boolean droppable,
+                     SseCompactPayload compact) {
+        this.name = name;
+        this.id = id;
+        this.data = data;
+        this.comment = comment;
+        this.bytes = bytes;
+        this.payload = Set.of(new ResponseBodyEmitter.DataWithMediaType(bytes, MediaType.TEXT_PLAIN));
+        this.droppable = droppable;
+        this.compact = compact;
+        this.variants = (compact == null) ? null : new AtomicReferenceArray<>(4);
+    }
+
+    // 문자열 data 그대로 프레임 생성
+    public static SseFrame event(String name, String id, String data) {
+        StringBuilder sb = new StringBuilder(data.length() + 64);
+        if (id != null) {
+            sb.append("id:").append(id).append('\n');
+        }
+        if (name != null) {
+            sb.append("event:").append(name).append('\n');
+        }
+        // data 안의 줄바꿈은 data: 라인으로 나눠야 SSE 규격에 맞음
+        for (String line : data.split("\n", -1)) {
+            sb.append("data:").append(line).append('\n');
+        }
+        sb.append('\n');
+        return new SseFrame(name, id, data, null, sb.toString().getBytes(StandardCharsets.UTF_8), false, null);
+    }
+
+    // SSE 주석 프레임 (": text") - 클라이언트에는 이벤트로 전달되지 않음, keep-alive 용
+    public static SseFrame comment(String text) {
+        byte[] bytes = (":" + text + "\n\n").getBytes(StandardCharsets.UTF_8);
+        return new SseFrame(null, null, null, text, bytes, false, null);
+    }
+
+    // 객체를 JSON으로 한 번 직렬화해서 프레임 생성
+    public static SseFrame json(String name, String id, Object data, ObjectMapper objectMapper) {
+        try {
+            return event(name, id, objectMapper.writeValueAsString(data))
+                    .withCompact(SseCompactPayload.from(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("SSE 이벤트 직렬화 실패 event=" + name, e);
+        }
+    }
+
+    // 같은 바이트를 공유하는 저우선순위 프레임
+    public SseFrame droppable() {
+        return droppable ? this : new SseFrame(name, id, data, comment, bytes, true, compact);
+    }
+
+    // 같은 이벤트에 SSE id 만 붙인 프레임 (fan-out chunk 마다 한 번, data 는 다시 직렬화하지 않음)
+    public SseFrame withId(String id) {
+        SseFrame framed = event(name, id, data).withCompact(compact);
+        return droppable ? framed.droppable() : framed;
+    }
+
+    public SseFrame withCompact(SseCompactPayload compact) {
+        return (compact == null) ? this : new SseFrame(name, id, data, comment, bytes, droppable, compact);
+    }
+
+    // 연결 인코딩에 맞는 프레임 (reference = 이 연결에 이미 보낸 곡이라 trackId 만 보내도 됨)
+    public SseFrame encodeFor(SseEncoding encoding, boolean reference) {
+        if (encoding == SseEncoding.JSON || compact == null) return this;
+
+        boolean ref = reference && compact.hasReference();
+        int idx = (encoding == SseEncoding.MSGPACK ? 2 : 0) + (ref ? 1 : 0);
+
+        SseFrame variant = variants.get(idx);
+        if (variant == null) {
+            SseFrame encoded = event(name, id, compact.encode(encoding, ref));
+            variant = droppable ? encoded.droppable() : encoded;
+            // 동시에 만든 경우 먼저 들어간 것 사용
+            if (!variants.compareAndSet(idx, null, variant)) {
+                variant = variants.get(idx);
+            }
+        }
+        return variant;
+    }
+
+    public void writeTo(SseEmitter emitter) throws IOException {
+        emitter.send(payload);
+    }
+
+    public String getName() { return name; }
+
+    public String getId() { return id; }
+
+    public String getData() { return data; }
+
+    public SseCompactPayload getCompact() { return compact; }
+
+    // 음악 참조 대상 trackId (없으면 null)
+    public Long getTrackId() { return (compact == null) ? null : compact.trackId(); }
+
+    public boolean isDroppable() { return droppable; }
+}
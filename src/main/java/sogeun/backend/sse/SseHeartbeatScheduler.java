@@ -4,10 +4,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-
-import java.io.IOException;
-import java.util.Map;
 
 @Component
 public class SseHeartbeatScheduler {
@@ -17,45 +13,48 @@ public class SseHeartbeatScheduler {
     private static final Logger log =
             LoggerFactory.getLogger(SseHeartbeatScheduler.class);
 
+    // 이벤트가 아닌 SSE 주석 프레임 (": ping") → 클라이언트 이벤트 핸들러를 깨우지 않음
+    private static final SseFrame PING = SseFrame.comment("ping").droppable();
+
     private final SseEmitterRegistry registry;
+    private final SseHeartbeatWheel wheel;
 
-    public SseHeartbeatScheduler(SseEmitterRegistry registry) {
+    public SseHeartbeatScheduler(SseEmitterRegistry registry, SseHeartbeatWheel wheel) {
         this.registry = registry;
+        this.wheel = wheel;
     }
 
-    // 30초마다 ping 보냄
-    @Scheduled(fixedRate = 30_000)
-    public void pingAll() {
-        int total = 0;        int success = 0;
-        int failed = 0;
+    // tick 마다 휠의 한 슬롯만 ping → 연결마다 interval(기본 30초) 주기로 한 번씩
+    // 최근 interval 절반 안에 실제 이벤트를 받은 연결은 건너뜀
+    @Scheduled(fixedRateString = "${sse.heartbeat.tick-ms:1000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        long idleThreshold = wheel.getIntervalMillis() / 2;
 
-        for (Map.Entry<Long, SseEmitter> entry : registry.entries()) {
+        int total = 0;
+        int queued = 0;
+        int skipped = 0;
+
+        for (SseConnection connection : wheel.slotAt(now)) {
             total++;
-            Long userId = entry.getKey();
-            SseEmitter emitter = entry.getValue();
-
-            try {
-                emitter.send(
-                        SseEmitter.event()
-                                .name("ping")
-                                .data("keep-alive")
-                );
-                success++;
-                log.debug("[SSE-PING] success userId={}", userId);
-
-            } catch (IOException | IllegalStateException e) {
-                failed++;
-                log.warn("[SSE-PING] failed userId={} → remove emitter", userId);
-                registry.remove(userId);
-                try {
-                    emitter.completeWithError(e);
-                } catch (Exception ignore) {}
+
+            if (now - connection.getLastWriteAt() < idleThreshold) {
+                skipped++;
+                continue;
+            }
+
+            if (registry.send(connection, PING)) {
+                queued++;
+            } else {
+                skipped++;
             }
         }
 
-        log.info(
-                "[SSE-PING] finished total={} success={} failed={}",
-                total, success, failed
-        );
+        if (total > 0) {
+            log.debug(
+                    "[SSE-PING] tick total={} queued={} skipped={}",
+                    total, queued, skipped
+            );
+        }
     }
 }
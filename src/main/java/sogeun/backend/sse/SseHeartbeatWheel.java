@@ -0,0 +1,52 @@
+package sogeun.backend.sse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// heartbeat 타이밍 휠
+// 연결 시각 기준으로 슬롯에 배치 → tick 마다 한 슬롯만 ping (30초마다 전체 연결에 몰아서 쓰지 않음)
+@Component
+public class SseHeartbeatWheel {
+
+    private final long tickMillis;
+    private final long intervalMillis;
+    private final List<Set<SseConnection>> slots;
+
+    public SseHeartbeatWheel(
+            @Value("${sse.heartbeat.interval-ms:30000}") long intervalMillis,
+            @Value("${sse.heartbeat.tick-ms:1000}") long tickMillis
+    ) {
+        this.tickMillis = Math.max(1L, tickMillis);
+        this.intervalMillis = Math.max(this.tickMillis, intervalMillis);
+
+        int slotCount = (int) (this.intervalMillis / this.tickMillis);
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    public void add(SseConnection connection) {
+        slots.get(slotOf(connection.getConnectedAt())).add(connection);
+    }
+
+    public void remove(SseConnection connection) {
+        slots.get(slotOf(connection.getConnectedAt())).remove(connection);
+    }
+
+    // 지금 시각에 ping 차례인 슬롯
+    public Set<SseConnection> slotAt(long nowMillis) {
+        return slots.get(slotOf(nowMillis));
+    }
+
+    public long getIntervalMillis() { return intervalMillis; }
+
+    private int slotOf(long millis) {
+        return (int) ((millis / tickMillis) % slots.size());
+    }
+}
@@ -0,0 +1,187 @@
+package sogeun.backend.sse;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// 유저별 최근 SSE 이벤트 링 버퍼 (Last-Event-ID 재연결 시 놓친 이벤트만 다시 보냄)
+// 프레임 객체는 fan-out 대상끼리 공유하므로 유저당 비용은 참조 + id 배열 정도
+@Slf4j
+@Component
+public class SseReplayBuffer {
+
+    private final SseEmitterRegistry registry;
+    private final int capacity;
+    private final long retentionMillis;
+
+    // SSE id: 값. 재시작 후에도 이전 id보다 작아지지 않도록 현재 시각에서 시작
+    // 이 노드 연결에 보내는 이벤트에만 씀 (다른 노드가 보낸 이벤트도 여기서 새로 붙임)
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+
+    private final ConcurrentHashMap<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    public SseReplayBuffer(
+            SseEmitterRegistry registry,
+            MeterRegistry meterRegistry,
+            @Value("${sse.replay.capacity:64}") int capacity,
+            @Value("${sse.replay.retention-ms:300000}") long retentionMillis
+    ) {
+        this.registry = registry;
+        this.capacity = Math.max(1, capacity);
+        this.retentionMillis = retentionMillis;
+
+        Gauge.builder("sse.replay.buffers", rings, Map::size)
+                .description("재연결 대비로 보관 중인 유저별 링 버퍼 수")
+                .register(meterRegistry);
+    }
+
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    public long currentId() {
+        return sequence.get();
+    }
+
+    // 버퍼에 기록한 뒤 송신 큐에 넣음 (attach 와 같은 락 → 재전송/실시간 이벤트 순서가 섞이지 않음)
+    public void deliver(Long userId, long id, SseFrame frame) {
+        Ring ring = rings.get(userId);
+        if (ring == null) {
+            registry.send(userId, frame);
+            return;
+        }
+
+        synchronized (ring) {
+            ring.add(id, frame);
+            registry.send(userId, frame);
+        }
+    }
+
+    // 연결 등록 + (Last-Event-ID 가 있으면) 놓친 이벤트 재전송
+    public Replay attach(Long userId, String lastEventId, Supplier<SseConnection> register) {
+        return attach(userId, lastEventId, register, replay -> {});
+    }
+
+    // afterReplay 는 같은 락 안에서 재전송 직후 실행 (스냅샷을 넣으면 그 사이 실시간 이벤트가 끼어들지 않음)
+    public Replay attach(Long userId, String lastEventId, Supplier<SseConnection> register, Consumer<Replay> afterReplay) {
+        Ring ring = rings.computeIfAbsent(userId, id -> new Ring(capacity, sequence.get()));
+
+        synchronized (ring) {
+            ring.touch();
+            Replay replay = replay(ring, lastEventId, register.get());
+            afterReplay.accept(replay);
+            return replay;
+        }
+    }
+
+    // ring 락 안에서 호출
+    private Replay replay(Ring ring, String lastEventId, SseConnection connection) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return new Replay(connection, 0, false);
+        }
+
+        long lastId = parseId(lastEventId);
+        // 이 노드가 아직 만들지 않은 id = 다른 노드(다른 id 공간)에서 받은 id → 이어 붙일 수 없음
+        List<SseFrame> missed = (lastId > sequence.get()) ? null : ring.since(lastId);
+        if (missed == null) {
+            // 버퍼가 이미 덮어썼거나 (재시작 등으로) 기록이 없음 → 스냅샷으로 대체
+            return new Replay(connection, 0, true);
+        }
+
+        for (SseFrame frame : missed) {
+            registry.send(connection, frame);
+        }
+        return new Replay(connection, missed.size(), false);
+    }
+
+    // 연결이 끊긴 뒤 retention 이 지난 버퍼 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+
+        for (Map.Entry<Long, Ring> entry : rings.entrySet()) {
+            Ring ring = entry.getValue();
+            if (registry.get(entry.getKey()) != null) {
+                ring.touch();
+            } else if (now - ring.touchedAt > retentionMillis) {
+                if (rings.remove(entry.getKey(), ring)) removed++;
+            }
+        }
+
+        if (removed > 0) {
+            log.debug("[SSE-REPLAY] evicted buffers={} remaining={}", removed, rings.size());
+        }
+    }
+
+    private long parseId(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            // 알 수 없는 id → 전체 스냅샷으로 대체되도록
+            return Long.MIN_VALUE;
+        }
+    }
+
+    public record Replay(SseConnection connection, int replayed, boolean gap) {}
+
+    private static final class Ring {
+
+        private final SseFrame[] frames;
+        private final long[] ids;
+        private int next;
+        private int size;
+
+        // 이 id 이하의 이벤트는 버퍼에 없을 수 있음
+        private long evictedUpTo;
+
+        private volatile long touchedAt = System.currentTimeMillis();
+
+        private Ring(int capacity, long startedAfter) {
+            this.frames = new SseFrame[capacity];
+            this.ids = new long[capacity];
+            this.evictedUpTo = startedAfter;
+        }
+
+        private void add(long id, SseFrame frame) {
+            if (size == frames.length) {
+                evictedUpTo = Math.max(evictedUpTo, ids[next]);
+            } else {
+                size++;
+            }
+            frames[next] = frame;
+            ids[next] = id;
+            next = (next + 1) % frames.length;
+        }
+
+        // lastId 이후 이벤트 (오래돼서 알 수 없으면 null)
+        private List<SseFrame> since(long lastId) {
+            if (lastId < evictedUpTo) return null;
+
+            List<SseFrame> result = new ArrayList<>();
+            int start = (next - size + frames.length) % frames.length;
+            for (int i = 0; i < size; i++) {
+                int idx = (start + i) % frames.length;
+                if (ids[idx] > lastId) {
+                    result.add(frames[idx]);
+                }
+            }
+            return result;
+        }
+
+        private void touch() {
+            touchedAt = System.currentTimeMillis();
+        }
+    }
+}
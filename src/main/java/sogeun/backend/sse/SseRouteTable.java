@@ -0,0 +1,241 @@
+package sogeun.backend.sse;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 유저 SSE 연결이 어느 노드에 붙어 있는지 기록하는 Redis 라우팅 테이블
+// sse.cluster.enabled=false(단일 노드)면 Redis 를 건드리지 않고 전부 로컬로 취급
+// 노드마다 만료 있는 lease 키를 갱신하고, lease 가 없는 노드를 가리키는 라우트는 죽은 라우트로 보고 정리
+@Slf4j
+@Component
+public class SseRouteTable {
+
+    private static final String KEY = "sse:route";
+    private static final String LEASE_PREFIX = "sse:node:lease:";
+    private static final String LOCAL_NODE = "local";
+
+    // 지정한 노드가 소유한 경우에만 삭제 (다른 노드로 재연결된 라우트를 지우지 않도록)
+    private static final RedisScript<Long> RELEASE_IF_OWNER = new DefaultRedisScript<>(
+            "if redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] then "
+                    + "return redis.call('HDEL', KEYS[1], ARGV[1]) end return 0",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final String nodeId;
+    private final Duration leaseTtl;
+    private final long leaseCheckMillis;
+
+    // 다른 노드 lease 확인 결과 캐시 (nodeId → 살아 있다고 믿는 시각 상한)
+    // fan-out 마다 lease 를 조회하지 않도록 짧게만 유지, 죽은 노드는 캐시하지 않음
+    private final ConcurrentHashMap<String, Long> aliveUntil = new ConcurrentHashMap<>();
+
+    public SseRouteTable(
+            StringRedisTemplate redisTemplate,
+            @Value("${sse.cluster.enabled:false}") boolean enabled,
+            @Value("${sse.cluster.node-id:}") String nodeId,
+            @Value("${sse.cluster.lease-ttl-ms:15000}") long leaseTtlMillis,
+            @Value("${sse.cluster.lease-check-ms:1000}") long leaseCheckMillis
+    ) {
+        boolean blank = nodeId == null || nodeId.isBlank();
+        // 재시작마다 바뀌는 id 면 이전 라우트가 아무도 구독하지 않는 채널을 가리킴 → 멀티 노드에선 고정 id 필수
+        if (enabled && blank) {
+            throw new IllegalStateException("sse.cluster.enabled=true 이면 sse.cluster.node-id 를 고정값으로 지정해야 합니다");
+        }
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.nodeId = blank ? LOCAL_NODE : nodeId;
+        this.leaseTtl = Duration.ofMillis(leaseTtlMillis);
+        this.leaseCheckMillis = leaseCheckMillis;
+
+        log.info("[SSE-ROUTE] init enabled={} nodeId={} leaseTtlMs={}", enabled, this.nodeId, leaseTtlMillis);
+    }
+
+    @PostConstruct
+    public void acquireLease() {
+        renewLease();
+    }
+
+    // TTL 의 1/3 주기로 갱신 (한두 번 놓쳐도 만료되지 않게)
+    @Scheduled(fixedDelayString = "${sse.cluster.lease-renew-ms:5000}")
+    public void renewLease() {
+        if (!enabled) return;
+        try {
+            redisTemplate.opsForValue().set(leaseKey(nodeId), String.valueOf(System.currentTimeMillis()), leaseTtl);
+        } catch (Exception e) {
+            log.warn("[SSE-ROUTE] lease renew failed nodeId={} reason={}", nodeId, e.toString());
+        }
+    }
+
+    // 정상 종료면 lease 를 바로 지워 다른 노드가 TTL 을 기다리지 않고 라우트를 정리하도록
+    @PreDestroy
+    public void releaseLease() {
+        if (!enabled) return;
+        try {
+            redisTemplate.delete(leaseKey(nodeId));
+        } catch (Exception e) {
+            log.warn("[SSE-ROUTE] lease release failed nodeId={} reason={}", nodeId, e.toString());
+        }
+    }
+
+    public void claim(Long userId) {
+        if (!enabled) return;
+        try {
+            redisTemplate.opsForHash().put(KEY, userId.toString(), nodeId);
+        } catch (Exception e) {
+            log.warn("[SSE-ROUTE] claim failed userId={} reason={}", userId, e.toString());
+        }
+    }
+
+    public void release(Long userId) {
+        if (!enabled) return;
+        releaseIfOwner(userId.toString(), nodeId);
+    }
+
+    // 대상 유저를 소유 노드별로 묶음
+    // 라우트가 없거나 조회 실패면 로컬 노드로, lease 가 없는 노드의 라우트는 지우고 로컬 노드로 (재연결 대비 링 버퍼에만 남음)
+    public Map<String, List<Long>> groupByNode(List<Long> userIds) {
+        Map<String, List<Long>> grouped = new HashMap<>();
+        if (!enabled) {
+            grouped.put(nodeId, userIds);
+            return grouped;
+        }
+
+        List<Object> fields = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            fields.add(userId.toString());
+        }
+
+        List<Object> owners;
+        try {
+            owners = redisTemplate.opsForHash().multiGet(KEY, fields);
+        } catch (Exception e) {
+            log.warn("[SSE-ROUTE] lookup failed targets={} reason={}", userIds.size(), e.toString());
+            grouped.put(nodeId, userIds);
+            return grouped;
+        }
+
+        Set<String> remotes = new HashSet<>();
+        for (Object owner : owners) {
+            if (owner != null && !nodeId.equals(owner.toString())) remotes.add(owner.toString());
+        }
+        Set<String> dead = deadNodes(remotes);
+
+        for (int i = 0; i < userIds.size(); i++) {
+            Object owner = owners.get(i);
+            String node = (owner == null) ? nodeId : owner.toString();
+            if (dead.contains(node)) {
+                releaseIfOwner(fields.get(i).toString(), node);
+                node = nodeId;
+            }
+            grouped.computeIfAbsent(node, k -> new ArrayList<>()).add(userIds.get(i));
+        }
+        return grouped;
+    }
+
+    // 조회되지 않는 유저의 죽은 라우트도 남지 않도록 주기적으로 전체를 훑어 정리
+    @Scheduled(fixedDelayString = "${sse.cluster.sweep-ms:60000}")
+    public void sweepStaleRoutes() {
+        if (!enabled) return;
+
+        Map<String, String> routes = new HashMap<>();
+        try (Cursor<Map.Entry<Object, Object>> cursor =
+                     redisTemplate.opsForHash().scan(KEY, ScanOptions.scanOptions().count(500).build())) {
+            while (cursor.hasNext()) {
+                Map.Entry<Object, Object> entry = cursor.next();
+                routes.put(entry.getKey().toString(), entry.getValue().toString());
+            }
+        } catch (Exception e) {
+            log.warn("[SSE-ROUTE] sweep scan failed reason={}", e.toString());
+            return;
+        }
+
+        Set<String> owners = new HashSet<>(routes.values());
+        owners.remove(nodeId);
+        Set<String> dead = deadNodes(owners);
+        if (dead.isEmpty()) return;
+
+        int removed = 0;
+        for (Map.Entry<String, String> route : routes.entrySet()) {
+            if (dead.contains(route.getValue()) && releaseIfOwner(route.getKey(), route.getValue())) removed++;
+        }
+        log.info("[SSE-ROUTE] swept stale routes removed={} deadNodes={}", removed, dead);
+    }
+
+    // lease 가 만료된 노드 (조회 실패면 살아 있다고 봄 → 기존처럼 그 노드 채널로 보냄)
+    private Set<String> deadNodes(Set<String> nodes) {
+        if (nodes.isEmpty()) return Set.of();
+
+        long now = System.currentTimeMillis();
+        List<String> unknown = new ArrayList<>();
+        for (String node : nodes) {
+            Long until = aliveUntil.get(node);
+            if (until == null || until < now) unknown.add(node);
+        }
+        if (unknown.isEmpty()) return Set.of();
+
+        List<String> keys = new ArrayList<>(unknown.size());
+        for (String node : unknown) {
+            keys.add(leaseKey(node));
+        }
+
+        List<String> leases;
+        try {
+            leases = redisTemplate.opsForValue().multiGet(keys);
+        } catch (Exception e) {
+            log.warn("[SSE-ROUTE] lease lookup failed nodes={} reason={}", unknown, e.toString());
+            return Set.of();
+        }
+        if (leases == null) return Set.of();
+
+        Set<String> dead = new LinkedHashSet<>();
+        for (int i = 0; i < unknown.size(); i++) {
+            String node = unknown.get(i);
+            if (leases.get(i) == null) {
+                aliveUntil.remove(node);
+                dead.add(node);
+            } else {
+                aliveUntil.put(node, now + leaseCheckMillis);
+            }
+        }
+        return dead;
+    }
+
+    private boolean releaseIfOwner(String userId, String owner) {
+        try {
+            Long removed = redisTemplate.execute(RELEASE_IF_OWNER, List.of(KEY), userId, owner);
+            return removed != null && removed > 0;
+        } catch (Exception e) {
+            log.warn("[SSE-ROUTE] release failed userId={} owner={} reason={}", userId, owner, e.toString());
+            return false;
+        }
+    }
+
+    private static String leaseKey(String nodeId) {
+        return LEASE_PREFIX + nodeId;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public String getNodeId() { return nodeId; }
+}
@@ -0,0 +1,14 @@
+package sogeun.backend.sse;
+
+import java.io.IOException;
+
+// SSE 연결의 실제 출력 대상 (운영은 SseEmitter, 테스트는 기록용 sink)
+// SseConnection 의 writer 만 호출하므로 구현체는 스레드 안전할 필요 없음
+public interface SseSink {
+
+    void write(SseFrame frame) throws IOException;
+
+    void complete();
+
+    void completeWithError(Throwable e);
+}
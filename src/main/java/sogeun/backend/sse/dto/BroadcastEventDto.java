@@ -10,6 +10,9 @@ public class BroadcastEventDto {
     private String type;
     private Long senderId;
 
+    private Long broadcastId;
+    private String nickname;
+
     private MusicDto music;
 
     private Integer likeCount;    // 좋아요 수
@@ -34,6 +37,31 @@ public class BroadcastEventDto {
         this.eventId = UUID.randomUUID().toString();
     }
 
+    // 주변 방송 카드 전체를 담은 on (구독 클라이언트가 /nearby 없이 바로 표시)
+    public static BroadcastEventDto on(UserNearbyResponse card) {
+        BroadcastEventDto event = new BroadcastEventDto(
+                "BROADCAST_ON",
+                card.userId(),
+                card.music(),
+                card.likeCount(),
+                card.radiusMeter()
+        );
+        event.broadcastId = card.broadcastId();
+        event.nickname = card.nickname();
+        return event;
+    }
+
+    // 송출 중 음악 변경
+    public static BroadcastEventDto musicChanged(Long senderId, MusicDto music) {
+        return new BroadcastEventDto(
+                "BROADCAST_MUSIC",
+                senderId,
+                music,
+                null,
+                null
+        );
+    }
+
     public static BroadcastEventDto on(Long senderId, MusicDto music) {
         return new BroadcastEventDto(
                 "BROADCAST_ON",
@@ -0,0 +1,7 @@
+package sogeun.backend.sse.dto;
+
+public record BroadcastLikeResponse(
+        Long broadcastId,
+        int likeCount,      // 이 좋아요가 반영된 뒤 누적 좋아요 수 (같은 window 에 모인 좋아요까지 포함)
+        int radiusMeter     // 반영 후 반경
+) {}
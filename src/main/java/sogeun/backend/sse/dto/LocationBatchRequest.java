@@ -0,0 +1,35 @@
+package sogeun.backend.sse.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class LocationBatchRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    @Valid
+    private List<Sample> samples;
+
+    @Getter
+    @NoArgsConstructor
+    public static class Sample {
+
+        private Long userId;    // 없으면 요청자 본인
+
+        @NotNull(message = "위도")
+        private Double lat;
+
+        @NotNull(message = "경도")
+        private Double lon;
+
+        private Long ts;        // 측정 시각 (epoch ms), 같은 유저는 가장 최신 샘플만 반영
+    }
+}
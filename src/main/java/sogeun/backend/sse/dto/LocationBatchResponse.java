@@ -0,0 +1,23 @@
+package sogeun.backend.sse.dto;
+
+import java.util.List;
+
+public record LocationBatchResponse(
+        int saved,
+        List<Item> results      // 요청 samples 와 같은 순서
+) {
+
+    public record Item(
+            Long userId,
+            Status status
+    ) {}
+
+    public enum Status {
+        SAVED,              // 저장됨
+        SUPERSEDED,         // 같은 유저의 더 최신 샘플이 있어 무시
+        UNCHANGED,          // 이동 거리가 작아 저장 생략
+        NOT_BROADCASTING,   // 송출 중이 아님
+        INVALID,            // 좌표 범위 오류
+        FORBIDDEN           // 다른 유저 위치를 보낼 권한 없음
+    }
+}
@@ -2,8 +2,11 @@ package sogeun.backend.sse.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sogeun.backend.entity.Music;
 
 @Getter
+@NoArgsConstructor
 @AllArgsConstructor
 public class MusicDto {
 
@@ -12,4 +15,10 @@ public class MusicDto {
     private String artist;
     private String artworkUrl;
     private String previewUrl;
+
+    // 엔티티 → 이벤트 / 카드용 (없으면 null)
+    public static MusicDto from(Music m) {
+        if (m == null) return null;
+        return new MusicDto(m.getTrackId(), m.getTitle(), m.getArtist(), m.getArtworkUrl(), m.getPreviewUrl());
+    }
 }
@@ -0,0 +1,8 @@
+package sogeun.backend.sse.dto;
+
+import java.util.List;
+
+public record NearbyPage(
+        List<UserNearbyResponse> items,     // 가까운 순
+        String nextCursor                   // 마지막 페이지면 null
+) {}
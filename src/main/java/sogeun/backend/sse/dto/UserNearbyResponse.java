@@ -7,5 +7,24 @@ public record UserNearbyResponse(
         Long broadcastId,       // ✅ 추가: 좋아요 타겟 식별자
         MusicDto music,
         Integer radiusMeter,
-        Integer likeCount
-) {}
+        Integer likeCount,
+        Double distanceMeter    // 요청자 기준 거리 (방송 카드 / 이벤트에서는 null)
+) {
+
+    public UserNearbyResponse withMusic(MusicDto music) {
+        return new UserNearbyResponse(userId, nickname, isBroadcasting, broadcastId, music, radiusMeter, likeCount, distanceMeter);
+    }
+
+    public UserNearbyResponse withDistance(double distanceMeter) {
+        return new UserNearbyResponse(userId, nickname, isBroadcasting, broadcastId, music, radiusMeter, likeCount,
+                Math.round(distanceMeter * 10) / 10.0);
+    }
+
+    public UserNearbyResponse withNickname(String nickname) {
+        return new UserNearbyResponse(userId, nickname, isBroadcasting, broadcastId, music, radiusMeter, likeCount, distanceMeter);
+    }
+
+    public UserNearbyResponse withLikes(int likeCount, int radiusMeter) {
+        return new UserNearbyResponse(userId, nickname, isBroadcasting, broadcastId, music, radiusMeter, likeCount, distanceMeter);
+    }
+}
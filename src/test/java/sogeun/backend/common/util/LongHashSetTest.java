@@ -0,0 +1,91 @@
+package sogeun.backend.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongHashSetTest {
+
+    @Test
+    void addContainsRemove() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.add(1)).isTrue();
+        assertThat(set.add(1)).isFalse();
+        assertThat(set.add(-7)).isTrue();
+        assertThat(set.contains(1)).isTrue();
+        assertThat(set.contains(2)).isFalse();
+        assertThat(set.size()).isEqualTo(2);
+
+        assertThat(set.remove(1)).isTrue();
+        assertThat(set.remove(1)).isFalse();
+        assertThat(set.contains(1)).isFalse();
+        assertThat(set.toList()).containsExactly(-7L);
+    }
+
+    @Test
+    void removeKeepsProbeChainReachable() {
+        // 같은 칸으로 몰리는 값들 사이를 지워도 뒤쪽 값이 당겨져서 계속 찾아져야 함
+        LongHashSet set = new LongHashSet(4);
+        long[] values = new long[64];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) i << 20;
+            set.add(values[i]);
+        }
+
+        for (int i = 0; i < values.length; i += 3) {
+            assertThat(set.remove(values[i])).isTrue();
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            assertThat(set.contains(values[i])).isEqualTo(i % 3 != 0);
+        }
+        assertThat(set.size()).isEqualTo(values.length - (values.length + 2) / 3);
+    }
+
+    @Test
+    void wrapAroundRemoveMatchesReferenceSet() {
+        // 작은 테이블에서 끝 → 처음으로 넘어가는 probe 체인까지 포함해 무작위 add / remove
+        Random random = new Random(42);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            long v = random.nextInt(40);
+            if (random.nextBoolean()) {
+                assertThat(set.add(v)).isEqualTo(expected.add(v));
+            } else {
+                assertThat(set.remove(v)).isEqualTo(expected.remove(v));
+            }
+            assertThat(set.size()).isEqualTo(expected.size());
+        }
+
+        for (long v = 0; v < 40; v++) {
+            assertThat(set.contains(v)).isEqualTo(expected.contains(v));
+        }
+        assertThat(set.toArray()).containsExactlyInAnyOrder(expected.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        LongHashSet set = new LongHashSet(2);
+        for (long v = 0; v < 1_000; v++) {
+            set.add(v * 31);
+        }
+
+        assertThat(set.size()).isEqualTo(1_000);
+        assertThat(set.contains(999 * 31)).isTrue();
+        assertThat(set.isEmpty()).isFalse();
+    }
+
+    @Test
+    void reservedValueIsRejected() {
+        assertThatThrownBy(() -> new LongHashSet().add(Long.MIN_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,116 @@
+package sogeun.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.geo.Point;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import sogeun.backend.repository.MusicLikeRepository;
+import sogeun.backend.repository.UserRepository;
+import sogeun.backend.security.JwtProvider;
+import sogeun.backend.security.RefreshTokenRepository;
+import sogeun.backend.sse.ActiveBroadcast;
+import sogeun.backend.sse.ActiveBroadcastReadModel;
+import sogeun.backend.sse.BroadcastAudienceTracker;
+import sogeun.backend.sse.BroadcastLikeCounter;
+import sogeun.backend.sse.LocationService;
+import sogeun.backend.sse.NearbyResult;
+import sogeun.backend.sse.dto.MusicDto;
+import sogeun.backend.sse.dto.NearbyPage;
+import sogeun.backend.sse.dto.UserNearbyResponse;
+
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 주변 페이지는 송출 중 + 음악 있는 유저만 세서 채우고, 한 명 더 있을 때만 다음 cursor
+class UserServiceNearbyPageTest {
+
+    private static final long ME = 1L;
+
+    private LocationService locationService;
+    private ActiveBroadcastReadModel readModel;
+    private UserService userService;
+    private final MusicDto music = mock(MusicDto.class);
+
+    @BeforeEach
+    void setUp() {
+        locationService = mock(LocationService.class);
+        readModel = mock(ActiveBroadcastReadModel.class);
+        BroadcastLikeCounter likeCounter = mock(BroadcastLikeCounter.class);
+        userService = new UserService(
+                mock(UserRepository.class), mock(JwtProvider.class), mock(PasswordEncoder.class),
+                mock(RefreshTokenRepository.class), mock(MusicLikeRepository.class),
+                locationService, likeCounter, readModel, mock(BroadcastAudienceTracker.class));
+
+        when(readModel.get(ME)).thenReturn(broadcast(ME, music));
+        when(locationService.getLocation(ME)).thenReturn(new Point(127.0, 37.5));
+        when(locationService.pageSize(2)).thenReturn(2);
+        when(locationService.getMaxResults()).thenReturn(500);
+        when(likeCounter.current(any(), anyInt())).thenReturn(0);
+        when(likeCounter.currentAll(any())).thenReturn(new HashMap<>());
+
+        // 2, 5, 6 만 송출 중 + 음악 있음 (3 은 송출 안 함, 4 는 음악 없음)
+        when(readModel.get(2L)).thenReturn(broadcast(2L, music));
+        when(readModel.get(4L)).thenReturn(broadcast(4L, null));
+        when(readModel.get(5L)).thenReturn(broadcast(5L, music));
+        when(readModel.get(6L)).thenReturn(broadcast(6L, music));
+    }
+
+    @Test
+    void pageIsFilledWithBroadcastersBeforeSlicing() {
+        candidates(new long[]{2, 3, 4, 5, 6}, new double[]{10, 20, 30, 40, 50});
+
+        NearbyPage page = userService.findNearbyBroadcastingUsers(ME, null, 2);
+
+        assertThat(page.items()).extracting(UserNearbyResponse::userId).containsExactly(2L, 5L);
+        assertThat(page.nextCursor()).isEqualTo("40.0:5");
+    }
+
+    @Test
+    void noCursorWhenNoBroadcasterIsLeft() {
+        candidates(new long[]{2, 3, 4, 5}, new double[]{10, 20, 30, 40});
+
+        NearbyPage page = userService.findNearbyBroadcastingUsers(ME, null, 2);
+
+        assertThat(page.items()).extracting(UserNearbyResponse::userId).containsExactly(2L, 5L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void filteredTailGivesEmptyPageWithoutCursor() {
+        candidates(new long[]{3, 4}, new double[]{20, 30});
+
+        NearbyPage page = userService.findNearbyBroadcastingUsers(ME, "10.0:2", 2);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void withoutPagingParamsEveryBroadcasterIsReturned() {
+        candidates(new long[]{2, 3, 4, 5, 6}, new double[]{10, 20, 30, 40, 50});
+
+        NearbyPage page = userService.findNearbyBroadcastingUsers(ME, null, null);
+
+        assertThat(page.items()).extracting(UserNearbyResponse::userId).containsExactly(2L, 5L, 6L);
+        assertThat(page.nextCursor()).isNull();
+        verify(locationService, never()).pageSize(any());
+    }
+
+    private void candidates(long[] ids, double[] distances) {
+        when(locationService.findNearbyAfter(eq(ME), anyDouble(), anyDouble(), anyDouble(), any()))
+                .thenReturn(new NearbyResult(ids, distances, ids.length));
+    }
+
+    private static ActiveBroadcast broadcast(long senderId, MusicDto music) {
+        return new ActiveBroadcast(senderId * 100, senderId, "user" + senderId, music, 0, 500, null);
+    }
+}
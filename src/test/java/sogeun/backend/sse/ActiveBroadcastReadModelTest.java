@@ -0,0 +1,205 @@
+package sogeun.backend.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import sogeun.backend.repository.BroadcastRepository;
+import sogeun.backend.repository.UserRepository;
+import sogeun.backend.sse.dto.MusicDto;
+import sogeun.backend.support.LocalRedis;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 한 JVM 안의 노드 두 개가 localhost Redis 하나를 공유: 한 노드의 turnOn / 갱신 / turnOff 가 다른 노드 read model 에 반영
+class ActiveBroadcastReadModelTest {
+
+    private static LocalRedis redis;
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = LocalRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        LettuceConnectionFactory factory = redis.connectionFactory();
+        redis.flushAll(redis.template(factory));
+        factory.destroy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(Node::close);
+    }
+
+    @Test
+    void turnOnOnOneNodeIsVisibleOnTheOther() throws Exception {
+        Node a = node();
+        Node b = node();
+
+        a.readModel.put(broadcast(10L, 1L, "first", 0));
+
+        await(() -> b.readModel.get(1L) != null, "broadcast visible on b");
+        ActiveBroadcast seen = b.readModel.get(1L);
+        assertThat(seen.broadcastId()).isEqualTo(10L);
+        assertThat(seen.music().getTitle()).isEqualTo("first");
+        assertThat(seen.startedAt()).isEqualTo(a.readModel.get(1L).startedAt());
+    }
+
+    @Test
+    void updateOnOtherNodeReachesOrigin() throws Exception {
+        Node a = node();
+        Node b = node();
+        a.readModel.put(broadcast(10L, 1L, "first", 0));
+        await(() -> b.readModel.get(1L) != null, "broadcast visible on b");
+
+        b.readModel.update(1L, x -> x.withLikes(7));
+
+        await(() -> a.readModel.get(1L).likeCount() == 7, "likes visible on a");
+        assertThat(a.readModel.get(1L).radiusMeter()).isEqualTo(b.readModel.get(1L).radiusMeter());
+    }
+
+    @Test
+    void turnOffOnOtherNodeRemovesEverywhere() throws Exception {
+        Node a = node();
+        Node b = node();
+        a.readModel.put(broadcast(10L, 1L, "first", 0));
+        await(() -> b.readModel.get(1L) != null, "broadcast visible on b");
+
+        b.readModel.remove(1L, 10L);
+
+        await(() -> a.readModel.get(1L) == null, "broadcast removed on a");
+        assertThat(b.readModel.get(1L)).isNull();
+    }
+
+    @Test
+    void lateSnapshotOfEndedBroadcastIsIgnored() throws Exception {
+        Node a = node();
+        Node b = node();
+
+        // b 가 a 의 turnOn 을 받기 전에 turnOff 처리 → 늦게 도착한 turnOn 으로 되살아나지 않음
+        b.readModel.remove(1L, 10L);
+        a.readModel.put(broadcast(10L, 1L, "first", 0));
+        a.readModel.put(broadcast(11L, 2L, "marker", 0));
+
+        await(() -> b.readModel.get(2L) != null, "later change visible on b");
+        await(() -> a.readModel.get(1L) == null, "ended broadcast removed on a");
+        assertThat(b.readModel.get(1L)).isNull();
+    }
+
+    @Test
+    void concurrentUpdatesOfDifferentFieldsBothSurvive() throws Exception {
+        Node a = node();
+        Node b = node();
+        a.readModel.put(broadcast(10L, 1L, "first", 0));
+        await(() -> b.readModel.get(1L) != null, "broadcast visible on b");
+
+        // a 는 음악 변경, b 는 좋아요 반영 → 도착 순서와 상관없이 두 변경 모두 남음
+        b.readModel.update(1L, x -> x.withLikes(5));
+        a.readModel.update(1L, x -> x.withMusic(music("second")));
+
+        await(() -> a.readModel.get(1L).likeCount() == 5 && b.readModel.get(1L).music().getTitle().equals("second"),
+                "both changes visible on both nodes");
+        assertThat(a.readModel.get(1L).music().getTitle()).isEqualTo("second");
+        assertThat(b.readModel.get(1L).likeCount()).isEqualTo(5);
+    }
+
+    @Test
+    void singleNodeWithoutContainerDoesNotPublish() throws Exception {
+        LettuceConnectionFactory factory = redis.connectionFactory();
+        try {
+            ActiveBroadcastReadModel local = new ActiveBroadcastReadModel(
+                    mock(BroadcastRepository.class), mock(UserRepository.class), mock(BroadcastLikeCounter.class),
+                    redis.template(factory), new ObjectMapper().findAndRegisterModules(),
+                    new StaticListableBeanFactory().getBeanProvider(RedisMessageListenerContainer.class)
+            );
+            local.subscribe();
+            Node b = node();
+
+            local.put(broadcast(10L, 1L, "first", 0));
+            Thread.sleep(200);
+
+            assertThat(local.get(1L)).isNotNull();
+            assertThat(b.readModel.get(1L)).isNull();
+            local.shutdown();
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    private Node node() {
+        Node node = new Node();
+        nodes.add(node);
+        return node;
+    }
+
+    private static ActiveBroadcast broadcast(Long broadcastId, Long senderId, String title, int likes) {
+        return new ActiveBroadcast(broadcastId, senderId, "nick", music(title), likes, 100,
+                LocalDateTime.of(2026, 1, 1, 12, 0));
+    }
+
+    private static MusicDto music(String title) {
+        return new MusicDto((long) title.hashCode(), title, "artist", null, null);
+    }
+
+    private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as(description + " within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    // 노드 하나의 read model (Spring 컨텍스트 없이 같은 순서로 조립, DB 는 비어 있음)
+    private static final class Node {
+
+        private final LettuceConnectionFactory factory;
+        private final RedisMessageListenerContainer container;
+        private final ActiveBroadcastReadModel readModel;
+
+        private Node() {
+            factory = redis.connectionFactory();
+            container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(factory);
+            container.afterPropertiesSet();
+
+            StaticListableBeanFactory beans = new StaticListableBeanFactory();
+            beans.addBean("container", container);
+            readModel = new ActiveBroadcastReadModel(
+                    mock(BroadcastRepository.class), mock(UserRepository.class), mock(BroadcastLikeCounter.class),
+                    redis.template(factory), new ObjectMapper().findAndRegisterModules(),
+                    beans.getBeanProvider(RedisMessageListenerContainer.class)
+            );
+
+            // 구독을 먼저 등록하고 시작 → start 가 구독 완료까지 기다림
+            readModel.subscribe();
+            container.start();
+        }
+
+        private void close() {
+            readModel.shutdown();
+            container.stop();
+            factory.destroy();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package sogeun.backend.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+import sogeun.backend.common.error.AppException;
+import sogeun.backend.common.error.ErrorCode;
+import sogeun.backend.sse.dto.BroadcastLikeResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 종료 시 열려 있는 window 는 flush 되거나 실패로 끝나야 함 (응답 없이 남지 않음)
+class BroadcastLikeBatcherTest {
+
+    private BroadcastService broadcastService;
+    private BroadcastLikeBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        broadcastService = mock(BroadcastService.class);
+        // 예약된 window flush 는 실행되지 않음 → shutdown 만이 window 를 닫음
+        batcher = new BroadcastLikeBatcher(
+                broadcastService,
+                new BroadcastLikeDedup(null, null, "memory"),
+                mock(TaskScheduler.class),
+                new SimpleMeterRegistry(),
+                60_000, 2, 10);
+    }
+
+    @Test
+    void shutdownFlushesOpenWindows() throws Exception {
+        when(broadcastService.like(anyLong(), anyInt()))
+                .thenAnswer(inv -> new BroadcastLikeResponse(inv.getArgument(0), inv.getArgument(1), 50));
+
+        CompletableFuture<BroadcastLikeResponse> first = batcher.submit(7L, 1L);
+        CompletableFuture<BroadcastLikeResponse> second = batcher.submit(7L, 2L);
+        assertThat(first).isNotDone();
+
+        batcher.shutdown();
+
+        assertThat(first.get(1, TimeUnit.SECONDS).likeCount()).isEqualTo(2);
+        assertThat(second.get(1, TimeUnit.SECONDS).likeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shutdownFailsWindowsWhoseFlushFails() {
+        when(broadcastService.like(anyLong(), anyInt())).thenThrow(new IllegalStateException("db down"));
+
+        CompletableFuture<BroadcastLikeResponse> like = batcher.submit(7L, 1L);
+        batcher.shutdown();
+
+        assertThat(like).isCompletedExceptionally();
+    }
+
+    @Test
+    void likesAfterShutdownAreRejected() {
+        batcher.shutdown();
+
+        CompletableFuture<BroadcastLikeResponse> like = batcher.submit(7L, 1L);
+
+        assertThat(like).isCompletedExceptionally();
+        assertThatThrownBy(like::join)
+                .hasCauseInstanceOf(AppException.class)
+                .satisfies(e -> assertThat(((AppException) e.getCause()).getErrorCode()).isEqualTo(ErrorCode.LIKE_BUSY));
+    }
+}
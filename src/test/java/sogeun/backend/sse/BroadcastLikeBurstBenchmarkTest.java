@@ -0,0 +1,128 @@
+package sogeun.backend.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import sogeun.backend.sse.dto.BroadcastLikeResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 좋아요가 한꺼번에 몰릴 때 (./gradlew benchmark)
+// - 여러 방송에 나뉘어 몰릴 때 / 방송 하나(hot key)에 전부 몰릴 때
+// - 좋아요 요청 하나가 응답을 받기까지 걸린 시간 p50 / p99, window 로 합쳐진 like() 호출 수
+// - 같은 scheduler 에 걸린 주기 작업(카운터 flush / sweeper 자리)이 얼마나 늦게 실행되는지
+// like() 한 번은 DB / geo 작업 흉내로 10ms
+@Tag("benchmark")
+class BroadcastLikeBurstBenchmarkTest {
+
+    private static final int TOTAL_LIKES = 10_000;
+    private static final int CLIENTS = 32;
+    private static final long LIKE_MILLIS = 10;
+    private static final long WINDOW_MILLIS = 20;
+    private static final long PROBE_MILLIS = 5;
+
+    @Test
+    void burstSpreadOverManyBroadcasts() throws Exception {
+        burst(200);
+    }
+
+    // 같은 방송 window (Pending 하나) 에 모든 요청이 몰림 → 방송별 경합이 그대로 드러남
+    @Test
+    void burstOnSingleHotBroadcast() throws Exception {
+        burst(1);
+    }
+
+    private void burst(int broadcasts) throws Exception {
+        AtomicLong likeCalls = new AtomicLong();
+        BroadcastService broadcastService = mock(BroadcastService.class);
+        when(broadcastService.like(anyLong(), anyInt())).thenAnswer(inv -> {
+            likeCalls.incrementAndGet();
+            Thread.sleep(LIKE_MILLIS);
+            return new BroadcastLikeResponse(inv.getArgument(0), inv.getArgument(1), 50);
+        });
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.initialize();
+
+        BroadcastLikeBatcher batcher = new BroadcastLikeBatcher(
+                broadcastService,
+                new BroadcastLikeDedup(null, null, "memory"),
+                scheduler,
+                new SimpleMeterRegistry(),
+                WINDOW_MILLIS, 8, 10_000);
+
+        // 주기 작업이 예정보다 늦게 실행된 시간 (scheduler 가 flush 로 막히면 커짐)
+        ConcurrentLinkedQueue<Long> probeLag = new ConcurrentLinkedQueue<>();
+        AtomicLong expected = new AtomicLong(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PROBE_MILLIS));
+        scheduler.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            probeLag.add(Math.max(0, now - expected.getAndAdd(TimeUnit.MILLISECONDS.toNanos(PROBE_MILLIS))));
+        }, Duration.ofMillis(PROBE_MILLIS));
+
+        int total = TOTAL_LIKES;
+        long[] latencies = new long[total];
+        List<CompletableFuture<?>> futures = new ArrayList<>(total);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch submitted = new CountDownLatch(total);
+        try {
+            for (int i = 0; i < total; i++) {
+                int n = i;
+                long broadcastId = i % broadcasts;
+                long likerId = 1_000_000L + i;
+                clients.execute(() -> {
+                    long t = System.nanoTime();
+                    CompletableFuture<BroadcastLikeResponse> f = batcher.submit(broadcastId, likerId);
+                    synchronized (futures) {
+                        futures.add(f.whenComplete((r, e) -> latencies[n] = System.nanoTime() - t));
+                    }
+                    submitted.countDown();
+                });
+            }
+            assertThat(submitted.await(60, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        } finally {
+            clients.shutdownNow();
+            scheduler.shutdown();
+            batcher.shutdown();
+        }
+
+        long[] lag = probeLag.stream().mapToLong(Long::longValue).toArray();
+        System.out.printf("[LIKE-BENCH] likes=%d broadcasts=%d likeCalls=%d like p50=%dms p99=%dms max=%dms%n",
+                total, broadcasts, likeCalls.get(),
+                percentile(latencies, 0.50) / 1_000_000,
+                percentile(latencies, 0.99) / 1_000_000,
+                percentile(latencies, 1.0) / 1_000_000);
+        System.out.printf("[LIKE-BENCH] scheduler probe runs=%d lag p50=%dms p99=%dms%n",
+                lag.length, percentile(lag, 0.50) / 1_000_000, percentile(lag, 0.99) / 1_000_000);
+
+        assertThat(futures).allMatch(f -> f.isDone() && !f.isCompletedExceptionally());
+        // flush 가 scheduler 스레드를 잡지 않으므로 주기 작업은 거의 제때 실행됨
+        assertThat(percentile(lag, 0.99)).isLessThan(TimeUnit.MILLISECONDS.toNanos(LIKE_MILLIS * 5));
+    }
+
+    private static long percentile(long[] values, double p) {
+        if (values.length == 0) return 0;
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, idx)];
+    }
+}
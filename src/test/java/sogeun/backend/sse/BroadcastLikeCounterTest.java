@@ -0,0 +1,99 @@
+package sogeun.backend.sse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sogeun.backend.support.LocalRedis;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// memory 카운터 정리 (종료 / idle) + redis 카운터 한 번 왕복 증가
+class BroadcastLikeCounterTest {
+
+    private static LocalRedis redis;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = LocalRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        redis.close();
+    }
+
+    @Test
+    void endedCounterIsDroppedAfterItsFinalFlush() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        BroadcastLikeCounter counter = new BroadcastLikeCounter(null, jdbc, "memory", 500, 60_000);
+
+        assertThat(counter.add(7L, 10, 3)).isEqualTo(13);
+        counter.end(7L);
+        counter.flush();
+
+        verify(jdbc).batchUpdate(anyString(), anyList());
+        assertThat(counter.currentAll(List.of(7L))).isEmpty();
+        // 다음 세션은 DB 에 기록된 값에서 시작
+        assertThat(counter.add(7L, 13, 1)).isEqualTo(14);
+    }
+
+    @Test
+    void activeCounterStaysUntilIdle() {
+        BroadcastLikeCounter counter = new BroadcastLikeCounter(null, mock(JdbcTemplate.class), "memory", 500, 60_000);
+        counter.add(7L, 0, 1);
+        counter.flush();
+
+        assertThat(counter.currentAll(List.of(7L))).containsEntry(7L, 1);
+
+        BroadcastLikeCounter eager = new BroadcastLikeCounter(null, mock(JdbcTemplate.class), "memory", 500, 0);
+        eager.add(7L, 0, 1);
+        eager.flush();
+
+        assertThat(eager.currentAll(List.of(7L))).isEmpty();
+    }
+
+    @Test
+    void counterIsKeptWhenItsFlushFails() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        when(jdbc.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("db down"));
+        BroadcastLikeCounter counter = new BroadcastLikeCounter(null, jdbc, "memory", 500, 0);
+
+        counter.add(7L, 0, 2);
+        counter.end(7L);
+        counter.flush();
+
+        assertThat(counter.currentAll(List.of(7L))).containsEntry(7L, 2);
+    }
+
+    @Test
+    void redisAddStartsFromPersistedAndMarksDirty() {
+        LettuceConnectionFactory factory = redis.connectionFactory();
+        try {
+            StringRedisTemplate template = redis.template(factory);
+            redis.flushAll(template);
+            BroadcastLikeCounter counter = new BroadcastLikeCounter(template, mock(JdbcTemplate.class), "redis", 500, 60_000);
+
+            assertThat(counter.add(7L, 10, 1)).isEqualTo(11);
+            assertThat(counter.add(7L, 10, 2)).isEqualTo(13);
+            assertThat(template.opsForSet().isMember("broadcast:like:dirty", "7")).isTrue();
+
+            // 종료 때 건 만료는 다시 켜진 방송의 좋아요가 풀어 줌
+            counter.end(7L);
+            assertThat(template.getExpire("broadcast:like:7")).isPositive();
+            counter.add(7L, 13, 1);
+            assertThat(template.getExpire("broadcast:like:7")).isEqualTo(-1L);
+        } finally {
+            factory.destroy();
+        }
+    }
+}
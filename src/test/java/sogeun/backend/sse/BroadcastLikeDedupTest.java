@@ -0,0 +1,113 @@
+package sogeun.backend.sse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// memory 모드: 세션당 1인 1좋아요 → insert / contains / forget / reset 순서
+class BroadcastLikeDedupTest {
+
+    private static final Long BROADCAST_ID = 10L;
+
+    private BroadcastLikeDedup dedup;
+
+    @BeforeEach
+    void setUp() {
+        dedup = new BroadcastLikeDedup(null, null, "memory");
+    }
+
+    @Test
+    void secondLikeInSameSessionIsRejected() {
+        assertThat(dedup.tryLike(BROADCAST_ID, 1L)).isTrue();
+        assertThat(dedup.tryLike(BROADCAST_ID, 1L)).isFalse();
+        assertThat(dedup.tryLike(BROADCAST_ID, 2L)).isTrue();
+    }
+
+    @Test
+    void broadcastsAreIndependent() {
+        assertThat(dedup.tryLike(BROADCAST_ID, 1L)).isTrue();
+        assertThat(dedup.tryLike(BROADCAST_ID + 1, 1L)).isTrue();
+    }
+
+    @Test
+    void forgetAllowsLikingAgain() {
+        dedup.tryLike(BROADCAST_ID, 1L);
+        dedup.tryLike(BROADCAST_ID, 2L);
+
+        dedup.forget(BROADCAST_ID, 1L);
+
+        assertThat(dedup.tryLike(BROADCAST_ID, 1L)).isTrue();
+        assertThat(dedup.tryLike(BROADCAST_ID, 2L)).isFalse();
+    }
+
+    @Test
+    void forgettingLastLikerThenLikingAgainWorks() {
+        // 마지막 유저를 지워서 집합이 맵에서 빠진 뒤에도 새 집합으로 기록
+        dedup.tryLike(BROADCAST_ID, 1L);
+        dedup.forget(BROADCAST_ID, 1L);
+
+        assertThat(dedup.tryLike(BROADCAST_ID, 1L)).isTrue();
+        assertThat(dedup.tryLike(BROADCAST_ID, 1L)).isFalse();
+    }
+
+    @Test
+    void forgetOfUnknownLikerIsHarmless() {
+        dedup.forget(BROADCAST_ID, 1L);
+        dedup.tryLike(BROADCAST_ID, 2L);
+        dedup.forget(BROADCAST_ID, 3L);
+
+        assertThat(dedup.tryLike(BROADCAST_ID, 2L)).isFalse();
+    }
+
+    @Test
+    void resetStartsNewSession() {
+        for (long id = 1; id <= 100; id++) {
+            dedup.tryLike(BROADCAST_ID, id);
+        }
+
+        dedup.reset(BROADCAST_ID);
+
+        for (long id = 1; id <= 100; id++) {
+            assertThat(dedup.tryLike(BROADCAST_ID, id)).isTrue();
+        }
+    }
+
+    @Test
+    void concurrentLikesFromSameUserAcceptOnlyOne() throws Exception {
+        int threads = 8;
+        int users = 500;
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        for (long id = 1; id <= users; id++) {
+                            if (dedup.tryLike(BROADCAST_ID, id)) accepted.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(accepted.get()).isEqualTo(users);
+    }
+}
@@ -0,0 +1,167 @@
+package sogeun.backend.sse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.geo.Point;
+import sogeun.backend.common.util.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// 격자 위치 인덱스 (write-through 없이 → Redis 없이 동작)
+class GridLocationStoreTest {
+
+    private static final double LAT = 37.5665;
+    private static final double LON = 126.9780;
+
+    private GridLocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new GridLocationStore(null, 350, false);
+    }
+
+    @Test
+    void nearbyReturnsOnlyUsersInsideRadiusSortedByDistance() {
+        putNorth(1, 120);
+        putNorth(2, 40);
+        putEast(3, 300);
+        putNorth(4, 360);
+        putNorth(5, -80);
+
+        NearbyResult result = store.nearby(LAT, LON, 350);
+
+        assertThat(ids(result)).containsExactly(2L, 5L, 1L, 3L);
+        assertThat(result.distanceAt(0)).isCloseTo(40, within(0.5));
+        assertThat(result.distanceAt(3)).isCloseTo(300, within(0.5));
+    }
+
+    @Test
+    void nearbyFindsUsersInNeighbouringCells() {
+        // 셀 크기(350m)보다 먼 양쪽 이웃 셀까지
+        putNorth(1, 340);
+        putNorth(2, -340);
+        putEast(3, 340);
+        putEast(4, -340);
+
+        assertThat(ids(store.nearby(LAT, LON, 350))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(store.nearby(LAT, LON, 100).size()).isZero();
+    }
+
+    @Test
+    void sameDistanceIsOrderedById() {
+        putNorth(9, 100);
+        putNorth(7, 100);
+        putNorth(8, 50);
+
+        NearbyResult result = store.nearby(LAT, LON, 350);
+
+        // 같은 위치(같은 거리) → id 순
+        assertThat(ids(result)).containsExactly(8L, 7L, 9L);
+    }
+
+    @Test
+    void limitKeepsClosestUsers() {
+        for (int i = 1; i <= 10; i++) {
+            putNorth(i, i * 20);
+        }
+
+        assertThat(ids(store.nearby(LAT, LON, 350, 3))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void movingAcrossCellsLeavesOldCell() {
+        putNorth(1, 10);
+        putNorth(1, 2_000);
+
+        assertThat(store.nearby(LAT, LON, 350).size()).isZero();
+        assertThat(ids(store.nearby(LAT + 2_000 / GeoUtils.METERS_PER_DEGREE, LON, 50))).containsExactly(1L);
+
+        Point p = store.get(1);
+        assertThat(p.getY()).isCloseTo(LAT + 2_000 / GeoUtils.METERS_PER_DEGREE, within(1e-9));
+        assertThat(p.getX()).isCloseTo(LON, within(1e-9));
+    }
+
+    @Test
+    void removedUserIsNotFound() {
+        putNorth(1, 10);
+        putNorth(2, 20);
+
+        store.remove(1);
+
+        assertThat(store.get(1)).isNull();
+        assertThat(ids(store.nearby(LAT, LON, 350))).containsExactly(2L);
+    }
+
+    @Test
+    void ringSplitMatchesTwoSeparateQueries() {
+        // like() 반경 변경: 큰 반경 한 번 검색 후 안쪽(기존 반경) / 바깥쪽 링으로 나눔
+        for (int i = 1; i <= 30; i++) {
+            putNorth(i, i * 12.0);
+        }
+
+        NearbyResult wide = store.nearby(LAT, LON, 250);
+        List<Long> inner = new ArrayList<>();
+        List<Long> outer = new ArrayList<>();
+        for (int i = 0; i < wide.size(); i++) {
+            (wide.distanceAt(i) <= 150 ? inner : outer).add(wide.idAt(i));
+        }
+
+        List<Long> small = ids(store.nearby(LAT, LON, 150));
+        List<Long> large = ids(store.nearby(LAT, LON, 250));
+        large.removeAll(small);
+
+        assertThat(inner).containsExactlyElementsOf(small);
+        assertThat(outer).containsExactlyElementsOf(large);
+    }
+
+    @Test
+    void removeIdleRemovesOnlyStaleUsersUpToLimit() throws Exception {
+        putNorth(1, 10);
+        putNorth(2, 20);
+        putNorth(3, 30);
+        Thread.sleep(5);
+        long cutoff = System.currentTimeMillis();
+        Thread.sleep(5);
+        putNorth(4, 40);
+
+        long[] first = store.removeIdle(cutoff, 2);
+        long[] second = store.removeIdle(cutoff, 2);
+
+        assertThat(first).hasSize(2);
+        assertThat(second).hasSize(1);
+        assertThat(ids(store.nearby(LAT, LON, 350))).containsExactly(4L);
+    }
+
+    @Test
+    void touchKeepsUserFromExpiring() throws Exception {
+        putNorth(1, 10);
+        Thread.sleep(5);
+        long cutoff = System.currentTimeMillis();
+        Thread.sleep(5);
+        store.touch(1);
+
+        assertThat(store.removeIdle(cutoff, 10)).isEmpty();
+        assertThat(store.get(1)).isNotNull();
+    }
+
+    private void putNorth(long userId, double meters) {
+        store.put(userId, LAT + meters / GeoUtils.METERS_PER_DEGREE, LON);
+    }
+
+    private void putEast(long userId, double meters) {
+        double degrees = meters / (GeoUtils.METERS_PER_DEGREE * Math.cos(Math.toRadians(LAT)));
+        store.put(userId, LAT, LON + degrees);
+    }
+
+    private static List<Long> ids(NearbyResult result) {
+        List<Long> ids = new ArrayList<>(result.size());
+        for (int i = 0; i < result.size(); i++) {
+            ids.add(result.idAt(i));
+        }
+        return ids;
+    }
+}
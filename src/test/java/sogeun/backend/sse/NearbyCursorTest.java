@@ -0,0 +1,45 @@
+package sogeun.backend.sse;
+
+import org.junit.jupiter.api.Test;
+import sogeun.backend.common.error.AppException;
+import sogeun.backend.common.error.ErrorCode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NearbyCursorTest {
+
+    @Test
+    void roundTripsThroughString() {
+        NearbyCursor cursor = new NearbyCursor(123.456789, 42L);
+
+        assertThat(NearbyCursor.parse(cursor.toString())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripKeepsPageBoundary() {
+        // 같은 거리의 다음 유저부터 이어져야 함 (거리 → id 순)
+        NearbyResult result = NearbyResult.sorted(
+                new long[]{5, 3, 4, 1}, new double[]{10.0, 10.0, 10.0, 2.5}, 4);
+        NearbyCursor cursor = NearbyCursor.parse(new NearbyCursor(result.distanceAt(1), result.idAt(1)).toString());
+
+        assertThat(result.indexAfter(cursor.distance(), cursor.userId())).isEqualTo(2);
+        assertThat(result.idAt(2)).isEqualTo(4L);
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertThat(NearbyCursor.parse(null)).isNull();
+        assertThat(NearbyCursor.parse("  ")).isNull();
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        for (String bad : new String[]{"abc", ":1", "1.5:", "1.5:x", "x:1"}) {
+            assertThatThrownBy(() -> NearbyCursor.parse(bad))
+                    .isInstanceOf(AppException.class)
+                    .extracting(e -> ((AppException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.INVALID_REQUEST);
+        }
+    }
+}
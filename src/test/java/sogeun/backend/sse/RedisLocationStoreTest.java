@@ -0,0 +1,118 @@
+package sogeun.backend.sse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import sogeun.backend.support.LocalRedis;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 셀별 seen 샤딩 + 셀 단위 idle 정리 (localhost Redis)
+class RedisLocationStoreTest {
+
+    private static LocalRedis redis;
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate template;
+    private RedisLocationStore store;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = LocalRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        factory = redis.connectionFactory();
+        template = redis.template(factory);
+        redis.flushAll(template);
+        store = new RedisLocationStore(template, 0.05);
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.destroy();
+    }
+
+    @Test
+    void seenIsShardedByCellWithTheCellHashTag() {
+        store.put(1L, 37.50, 127.00);
+        store.put(2L, 35.10, 129.00);
+
+        Set<String> seenKeys = template.keys(RedisLocationStore.SEEN_KEY_PREFIX + "*");
+        assertThat(seenKeys).hasSize(2);
+        for (String key : seenKeys) {
+            String tag = key.substring(key.indexOf('{'));
+            assertThat(template.hasKey(RedisLocationStore.CELL_KEY_PREFIX + tag)).isTrue();
+        }
+        assertThat(template.hasKey(RedisLocationStore.LEGACY_SEEN_KEY)).isFalse();
+        assertThat(template.opsForSet().size(RedisLocationStore.CELLS_KEY)).isEqualTo(2);
+    }
+
+    @Test
+    void removeIdleClearsEveryKeyOfIdleUsers() {
+        store.put(1L, 37.50, 127.00);
+        store.put(2L, 35.10, 129.00);
+
+        long[] removed = store.removeIdle(System.currentTimeMillis() + 1, 100);
+
+        assertThat(removed).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.nearby(37.50, 127.00, 1_000).size()).isZero();
+        assertThat(template.keys(RedisLocationStore.SEEN_KEY_PREFIX + "*")).isEmpty();
+        assertThat(template.opsForSet().size(RedisLocationStore.CELLS_KEY)).isZero();
+    }
+
+    @Test
+    void recentlySeenUsersAreKept() {
+        store.put(1L, 37.50, 127.00);
+
+        assertThat(store.removeIdle(System.currentTimeMillis() - 60_000, 100)).isEmpty();
+        assertThat(store.get(1L)).isNotNull();
+    }
+
+    @Test
+    void movedUserLeavesNoSeenEntryInTheOldCell() {
+        store.put(1L, 37.50, 127.00);
+        store.put(1L, 38.50, 128.00);
+
+        assertThat(template.keys(RedisLocationStore.SEEN_KEY_PREFIX + "*")).hasSize(1);
+        assertThat(store.removeIdle(System.currentTimeMillis() + 1, 100)).containsExactly(1L);
+    }
+
+    @Test
+    void removeIdleStopsAtLimitAcrossCells() {
+        for (long id = 1; id <= 5; id++) {
+            store.put(id, 30.0 + id, 127.00);
+        }
+        long seenBefore = System.currentTimeMillis() + 1;
+
+        assertThat(store.removeIdle(seenBefore, 2)).hasSize(2);
+        assertThat(store.removeIdle(seenBefore, 100)).hasSize(3);
+    }
+
+    @Test
+    void legacyGlobalSeenIsMovedToCellSeen() {
+        template.opsForZSet().add(RedisLocationStore.LEGACY_SEEN_KEY, "7", 1);
+        template.opsForValue().set(RedisLocationStore.AT_KEY_PREFIX + "7", "750:2539|37.5|127.0");
+
+        assertThat(store.migrateLegacySeen()).isEqualTo(1);
+
+        assertThat(template.hasKey(RedisLocationStore.LEGACY_SEEN_KEY)).isFalse();
+        Point p = store.get(7L);
+        assertThat(p.getY()).isEqualTo(37.5);
+        assertThat(store.removeIdle(System.currentTimeMillis() - 60_000, 100)).isEmpty();
+    }
+}
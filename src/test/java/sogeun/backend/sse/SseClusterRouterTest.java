@@ -0,0 +1,242 @@
+package sogeun.backend.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import sogeun.backend.support.LocalRedis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 한 JVM 안의 노드 여러 개가 localhost Redis 하나를 공유: 라우팅 / 노드 간 전달 / lease 없는 노드 라우트 정리
+class SseClusterRouterTest {
+
+    private static LocalRedis redis;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private StringRedisTemplate admin;
+    private LettuceConnectionFactory adminFactory;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = LocalRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws Exception {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        adminFactory = redis.connectionFactory();
+        admin = redis.template(adminFactory);
+        redis.flushAll(admin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(Node::close);
+        adminFactory.destroy();
+    }
+
+    @Test
+    void clusterModeRequiresStableNodeId() {
+        assertThatThrownBy(() -> new SseRouteTable(admin, true, " ", 15_000, 1_000))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void remoteTargetIsDeliveredThroughOwnerNode() throws Exception {
+        Node a = node("node-a", 15_000);
+        Node b = node("node-b", 15_000);
+        RecordingSink sink = a.connect(1L);
+
+        b.fanout.dispatch(List.of(1L), "song.changed", 99L, Map.of("title", "hello"));
+
+        SseFrame frame = sink.next();
+        assertThat(frame.getName()).isEqualTo("song.changed");
+        assertThat(frame.getData()).contains("hello");
+        assertThat(frame.getId()).isNotNull();
+    }
+
+    @Test
+    void targetsAreGroupedByLiveOwner() {
+        Node a = node("node-a", 15_000);
+        Node b = node("node-b", 15_000);
+        a.connect(1L);
+        b.connect(2L);
+
+        Map<String, List<Long>> grouped = b.routeTable.groupByNode(List.of(1L, 2L, 3L));
+
+        assertThat(grouped.get("node-a")).containsExactly(1L);
+        assertThat(grouped.get("node-b")).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void routeOfNodeWithoutLeaseIsDroppedAndTreatedAsLocal() {
+        Node a = node("node-a", 15_000);
+        Node b = node("node-b", 15_000);
+        a.connect(1L);
+
+        // 비정상 종료: 라우트는 남고 lease 만 사라짐
+        admin.delete("sse:node:lease:node-a");
+
+        Map<String, List<Long>> grouped = b.routeTable.groupByNode(List.of(1L));
+
+        assertThat(grouped).containsOnlyKeys("node-b");
+        assertThat(admin.opsForHash().get("sse:route", "1")).isNull();
+    }
+
+    @Test
+    void sweepRemovesRoutesOfExpiredNodesOnly() throws Exception {
+        Node a = node("node-a", 300);
+        Node b = node("node-b", 15_000);
+        a.connect(1L);
+        a.connect(2L);
+        b.connect(3L);
+
+        // a 는 갱신하지 않으므로 TTL 뒤 lease 만료
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (Boolean.TRUE.equals(admin.hasKey("sse:node:lease:node-a"))) {
+            assertThat(System.currentTimeMillis()).as("lease expired within 5s").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+
+        b.routeTable.sweepStaleRoutes();
+
+        assertThat(admin.opsForHash().entries("sse:route")).containsOnly(Map.entry("3", "node-b"));
+    }
+
+    @Test
+    void restartedNodeWithSameIdOwnsItsRoutesAgain() throws Exception {
+        Node a = node("node-a", 15_000);
+        Node b = node("node-b", 15_000);
+        a.connect(1L);
+        a.crash();
+
+        // 같은 node-id 로 재기동 → 같은 채널을 구독하고 재연결하면 바로 받음
+        Node restarted = node("node-a", 15_000);
+        RecordingSink sink = restarted.connect(1L);
+        b.fanout.dispatch(List.of(1L), "song.changed", 99L, Map.of("title", "again"));
+
+        assertThat(sink.next().getData()).contains("again");
+    }
+
+    private Node node(String nodeId, long leaseTtlMillis) {
+        Node node = new Node(nodeId, leaseTtlMillis);
+        nodes.add(node);
+        return node;
+    }
+
+    // 노드 하나의 SSE 구성 (Spring 컨텍스트 없이 같은 순서로 조립)
+    private static final class Node {
+
+        private final LettuceConnectionFactory factory;
+        private final RedisMessageListenerContainer container;
+        private final SseRouteTable routeTable;
+        private final SseEmitterRegistry registry;
+        private final SseReplayBuffer replayBuffer;
+        private final SseFanoutExecutor fanout;
+        private boolean closed;
+
+        private Node(String nodeId, long leaseTtlMillis) {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            ObjectMapper objectMapper = new ObjectMapper();
+
+            factory = redis.connectionFactory();
+            StringRedisTemplate template = redis.template(factory);
+            container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(factory);
+            container.afterPropertiesSet();
+
+            routeTable = new SseRouteTable(template, true, nodeId, leaseTtlMillis, 1_000);
+            routeTable.acquireLease();
+            registry = new SseEmitterRegistry(
+                    new SseHeartbeatWheel(30_000, 1_000), routeTable, meterRegistry,
+                    256, 64, 15_000, 4, false, 0
+            );
+            replayBuffer = new SseReplayBuffer(registry, meterRegistry, 16, 300_000);
+
+            StaticListableBeanFactory beans = new StaticListableBeanFactory();
+            beans.addBean("container", container);
+            SseClusterRouter router = new SseClusterRouter(
+                    routeTable, replayBuffer, template, objectMapper,
+                    beans.getBeanProvider(RedisMessageListenerContainer.class),
+                    beans.getBeanProvider(SseFanoutExecutor.class)
+            );
+            fanout = new SseFanoutExecutor(router, objectMapper, meterRegistry, 2, 100, 200, false);
+            beans.addBean("fanout", fanout);
+
+            // 구독을 먼저 등록하고 시작 → start 가 구독 완료까지 기다림
+            router.subscribe();
+            container.start();
+        }
+
+        private RecordingSink connect(Long userId) {
+            RecordingSink sink = new RecordingSink();
+            replayBuffer.attach(userId, null, () -> registry.addOrReplace(userId, sink, SseEncoding.JSON));
+            return sink;
+        }
+
+        // 라우트 / lease 정리 없이 연결만 끊김
+        private void crash() {
+            close(false);
+        }
+
+        private void close() {
+            close(true);
+        }
+
+        private void close(boolean graceful) {
+            if (closed) return;
+            closed = true;
+            if (graceful) {
+                registry.shutdown();
+                routeTable.releaseLease();
+            }
+            fanout.shutdown();
+            container.stop();
+            factory.destroy();
+        }
+    }
+
+    private static final class RecordingSink implements SseSink {
+
+        private final BlockingQueue<SseFrame> written = new LinkedBlockingQueue<>();
+
+        @Override
+        public void write(SseFrame frame) {
+            written.add(frame);
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public void completeWithError(Throwable e) {
+        }
+
+        private SseFrame next() throws InterruptedException {
+            SseFrame frame = written.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).as("frame written within 5s").isNotNull();
+            return frame;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package sogeun.backend.sse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 연결당 mailbox: 생산자 여럿이 넣어도 writer 하나가 순서대로 쓰고, 밀리면 버리거나 끊음
+class SseConnectionTest {
+
+    @Test
+    void framesFromOneProducerAreWrittenInOrder() throws Exception {
+        RecordingSink sink = new RecordingSink(0);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try {
+            SseConnection connection = connection(sink, 1024, 512, writers);
+            for (int i = 0; i < 500; i++) {
+                assertThat(connection.offer(frame(i))).isEqualTo(SseConnection.Offer.ENQUEUED);
+            }
+
+            sink.awaitWritten(500);
+            assertThat(sink.data()).containsExactlyElementsOf(range(500));
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentProducersNeverWriteConcurrently() throws Exception {
+        int producers = 8;
+        int perProducer = 200;
+        RecordingSink sink = new RecordingSink(0);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        try {
+            SseConnection connection = connection(sink, producers * perProducer, producers * perProducer, writers);
+            CountDownLatch start = new CountDownLatch(1);
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                pool.execute(() -> {
+                    await(start);
+                    for (int i = 0; i < perProducer; i++) {
+                        connection.offer(frame(base + i));
+                    }
+                });
+            }
+            start.countDown();
+
+            sink.awaitWritten(producers * perProducer);
+            assertThat(sink.overlapped.get()).isFalse();
+            assertThat(sink.data()).containsExactlyInAnyOrderElementsOf(range(producers * perProducer));
+        } finally {
+            pool.shutdownNow();
+            writers.shutdownNow();
+        }
+    }
+
+    @Test
+    void droppableFramesAreDroppedAboveHighWaterMark() {
+        // writer 가 돌지 않는 executor → mailbox 가 그대로 쌓임
+        SseConnection connection = connection(new RecordingSink(0), 8, 2, task -> { });
+
+        assertThat(connection.offer(frame(0))).isEqualTo(SseConnection.Offer.ENQUEUED);
+        assertThat(connection.offer(frame(1))).isEqualTo(SseConnection.Offer.ENQUEUED);
+        assertThat(connection.offer(frame(2).droppable())).isEqualTo(SseConnection.Offer.DROPPED);
+        assertThat(connection.offer(frame(3))).isEqualTo(SseConnection.Offer.ENQUEUED);
+        assertThat(connection.queueDepth()).isEqualTo(3);
+    }
+
+    @Test
+    void fullMailboxAsksForEviction() {
+        SseConnection connection = connection(new RecordingSink(0), 2, 2, task -> { });
+
+        connection.offer(frame(0));
+        connection.offer(frame(1));
+
+        assertThat(connection.offer(frame(2))).isEqualTo(SseConnection.Offer.EVICT);
+    }
+
+    @Test
+    void closedConnectionRejectsFrames() {
+        SseConnection connection = connection(new RecordingSink(0), 8, 8, task -> { });
+        connection.close();
+
+        assertThat(connection.offer(frame(0))).isEqualTo(SseConnection.Offer.CLOSED);
+        assertThat(connection.isClosed()).isTrue();
+    }
+
+    @Test
+    void writeBlockedPastTimeoutIsReportedAsStalled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink(0) {
+            @Override
+            public void write(SseFrame frame) {
+                await(release);
+                super.write(frame);
+            }
+        };
+        ExecutorService writers = Executors.newSingleThreadExecutor();
+        try {
+            SseConnection connection = connection(sink, 8, 8, writers);
+            connection.offer(frame(0));
+            Thread.sleep(50);
+
+            long now = System.currentTimeMillis();
+            assertThat(connection.isWriteStalled(now, 10)).isTrue();
+            assertThat(connection.isWriteStalled(now, 60_000)).isFalse();
+
+            release.countDown();
+            sink.awaitWritten(1);
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (connection.isWriteStalled(System.currentTimeMillis(), 0) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(connection.isWriteStalled(System.currentTimeMillis() + 60_000, 10)).isFalse();
+        } finally {
+            release.countDown();
+            writers.shutdownNow();
+        }
+    }
+
+    @Test
+    void unexpectedRuntimeExceptionClosesConnectionAndReportsFailure() {
+        // IOException / IllegalStateException 이 아닌 예외도 연결을 닫고 실패를 알려야 함
+        RecordingSink sink = new RecordingSink(0) {
+            @Override
+            public void write(SseFrame frame) {
+                throw new IllegalArgumentException("encode failed");
+            }
+        };
+        List<Throwable> failures = new ArrayList<>();
+        SseConnection connection = new SseConnection(
+                1L, sink, SseEncoding.JSON, 8, 8, 60_000, Runnable::run, (c, e) -> failures.add(e));
+
+        connection.offer(frame(0));
+
+        assertThat(connection.isClosed()).isTrue();
+        assertThat(failures).singleElement().isInstanceOf(IllegalArgumentException.class);
+        assertThat(connection.offer(frame(1))).isEqualTo(SseConnection.Offer.CLOSED);
+    }
+
+    private static SseConnection connection(SseSink sink, int capacity, int highWaterMark,
+                                            Executor writers) {
+        return new SseConnection(1L, sink, SseEncoding.JSON, capacity, highWaterMark, 60_000, writers, (c, e) -> { });
+    }
+
+    private static SseFrame frame(int i) {
+        return SseFrame.event("test", null, Integer.toString(i));
+    }
+
+    private static List<String> range(int n) {
+        List<String> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(Integer.toString(i));
+        }
+        return result;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 쓰기가 겹치면 overlapped 표시, writeNanos 만큼 소켓 쓰기 흉내
+    static class RecordingSink implements SseSink {
+
+        private final long writeNanos;
+        private final List<String> written = new ArrayList<>();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicBoolean writing = new AtomicBoolean();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+
+        RecordingSink(long writeNanos) {
+            this.writeNanos = writeNanos;
+        }
+
+        @Override
+        public void write(SseFrame frame) {
+            if (!writing.compareAndSet(false, true)) {
+                overlapped.set(true);
+            }
+            if (writeNanos > 0) {
+                long until = System.nanoTime() + writeNanos;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+            synchronized (written) {
+                written.add(frame.getData());
+            }
+            writing.set(false);
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public void completeWithError(Throwable e) {
+        }
+
+        void awaitWritten(int n) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (count.get() < n && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(count.get()).as("frames written").isEqualTo(n);
+        }
+
+        List<String> data() {
+            synchronized (written) {
+                return new ArrayList<>(written);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package sogeun.backend.sse;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 여러 송출자가 같은 연결에 동시에 보낼 때 생산자 쪽 지연 비교 (./gradlew benchmark)
+// locked  : 이전 방식처럼 생산자가 emitter 락을 잡고 직접 write (write 마다 소켓 쓰기 흉내 20µs)
+// mailbox : SseConnection.offer 로 넣기만 하고 writer 하나가 순서대로 write
+@Tag("benchmark")
+class SseMailboxBenchmarkTest {
+
+    private static final int PRODUCERS = 16;
+    private static final int PER_PRODUCER = 2_000;
+    private static final long WRITE_NANOS = 20_000;
+
+    @Test
+    void producerLatencyUnderContention() throws Exception {
+        SseConnectionTest.RecordingSink lockedSink = new SseConnectionTest.RecordingSink(WRITE_NANOS);
+        Object emitterLock = new Object();
+        long[] locked = run(i -> {
+            synchronized (emitterLock) {
+                lockedSink.write(frame(i));
+            }
+        });
+
+        SseConnectionTest.RecordingSink mailboxSink = new SseConnectionTest.RecordingSink(WRITE_NANOS);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        long[] mailbox;
+        try {
+            int total = PRODUCERS * PER_PRODUCER;
+            SseConnection connection = new SseConnection(
+                    1L, mailboxSink, SseEncoding.JSON, total, total, 60_000, writers, (c, e) -> { });
+            mailbox = run(i -> connection.offer(frame(i)));
+            mailboxSink.awaitWritten(total);
+            assertThat(mailboxSink.overlapped.get()).isFalse();
+        } finally {
+            writers.shutdownNow();
+        }
+
+        report("locked ", locked);
+        report("mailbox", mailbox);
+        assertThat(percentile(mailbox, 0.99)).isLessThan(percentile(locked, 0.99));
+    }
+
+    // 생산자 PRODUCERS 개가 동시에 PER_PRODUCER 번씩 send, send 한 번 걸린 시간(ns)
+    private static long[] run(Send send) throws Exception {
+        long[] latencies = new long[PRODUCERS * PER_PRODUCER];
+        ExecutorService pool = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+        try {
+            for (int p = 0; p < PRODUCERS; p++) {
+                int base = p * PER_PRODUCER;
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < PER_PRODUCER; i++) {
+                            long t = System.nanoTime();
+                            send.send(base + i);
+                            latencies[base + i] = System.nanoTime() - t;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+        return latencies;
+    }
+
+    private static void report(String mode, long[] latencies) {
+        System.out.printf("[SSE-BENCH] %s producers=%d sends=%d p50=%dus p99=%dus max=%dus%n",
+                mode, PRODUCERS, latencies.length,
+                percentile(latencies, 0.50) / 1_000,
+                percentile(latencies, 0.99) / 1_000,
+                percentile(latencies, 1.0) / 1_000);
+    }
+
+    private static long percentile(long[] values, double p) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, idx)];
+    }
+
+    private static SseFrame frame(int i) {
+        return SseFrame.event("broadcast.like", null, Integer.toString(i));
+    }
+
+    @FunctionalInterface
+    private interface Send {
+        void send(int i);
+    }
+}
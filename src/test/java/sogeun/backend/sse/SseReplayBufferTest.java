@@ -0,0 +1,179 @@
+package sogeun.backend.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Last-Event-ID 재연결: 버퍼 안이면 놓친 이벤트만 재전송, 모르는 / 밀려난 id 면 gap (스냅샷 대체)
+class SseReplayBufferTest {
+
+    private static final long USER_ID = 1L;
+
+    private SseEmitterRegistry registry;
+    private SseReplayBuffer replayBuffer;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        registry = new SseEmitterRegistry(
+                new SseHeartbeatWheel(30_000, 1_000),
+                new SseRouteTable(null, false, "test-node", 15_000, 1_000),
+                meterRegistry,
+                256, 64, 15_000, 4, false, 0
+        );
+        replayBuffer = new SseReplayBuffer(registry, meterRegistry, 4, 300_000);
+    }
+
+    @Test
+    void firstConnectWithoutLastEventIdHasNoGap() {
+        SseReplayBuffer.Replay replay = attach(null, new RecordingSink());
+
+        assertThat(replay.gap()).isFalse();
+        assertThat(replay.replayed()).isZero();
+    }
+
+    @Test
+    void replaysOnlyEventsAfterLastEventId() throws Exception {
+        attach(null, new RecordingSink());
+        long first = deliver("a");
+        deliver("b");
+        deliver("c");
+
+        RecordingSink sink = new RecordingSink();
+        SseReplayBuffer.Replay replay = attach(String.valueOf(first), sink);
+
+        assertThat(replay.gap()).isFalse();
+        assertThat(replay.replayed()).isEqualTo(2);
+        assertThat(sink.next().getData()).isEqualTo("b");
+        assertThat(sink.next().getData()).isEqualTo("c");
+    }
+
+    @Test
+    void upToDateClientGetsNothing() {
+        attach(null, new RecordingSink());
+        deliver("a");
+        long last = deliver("b");
+
+        SseReplayBuffer.Replay replay = attach(String.valueOf(last), new RecordingSink());
+
+        assertThat(replay.gap()).isFalse();
+        assertThat(replay.replayed()).isZero();
+    }
+
+    @Test
+    void overwrittenEventsAreReportedAsGap() {
+        attach(null, new RecordingSink());
+        long first = deliver("a");
+        for (int i = 0; i < 5; i++) {
+            deliver("x" + i);
+        }
+
+        SseReplayBuffer.Replay replay = attach(String.valueOf(first), new RecordingSink());
+
+        assertThat(replay.gap()).isTrue();
+    }
+
+    @Test
+    void idFromAnotherNodeIsReportedAsGap() {
+        attach(null, new RecordingSink());
+        deliver("a");
+
+        // 이 노드가 아직 만들지 않은 id (다른 노드의 sequence)
+        long foreign = replayBuffer.currentId() + 1_000;
+        SseReplayBuffer.Replay replay = attach(String.valueOf(foreign), new RecordingSink());
+
+        assertThat(replay.gap()).isTrue();
+    }
+
+    @Test
+    void unknownUserWithLastEventIdIsReportedAsGap() {
+        long old = replayBuffer.nextId();
+        replayBuffer.nextId();
+
+        SseReplayBuffer.Replay replay = attach(String.valueOf(old), new RecordingSink());
+
+        assertThat(replay.gap()).isTrue();
+    }
+
+    @Test
+    void unparsableLastEventIdIsReportedAsGap() {
+        attach(null, new RecordingSink());
+        deliver("a");
+
+        assertThat(attach("not-a-number", new RecordingSink()).gap()).isTrue();
+    }
+
+    @Test
+    void afterReplayRunsBeforeConcurrentDeliveries() throws Exception {
+        attach(null, new RecordingSink());
+        long first = deliver("a");
+        deliver("b");
+
+        // afterReplay 안에서 다른 스레드가 보낸 실시간 이벤트는 스냅샷 뒤로 밀려야 함
+        RecordingSink sink = new RecordingSink();
+        Thread[] live = new Thread[1];
+        replayBuffer.attach(USER_ID, String.valueOf(first),
+                () -> registry.addOrReplace(USER_ID, sink, SseEncoding.JSON),
+                replay -> {
+                    live[0] = new Thread(() -> deliver("live"));
+                    live[0].start();
+                    sleepQuietly(50);
+                    registry.send(replay.connection(), SseFrame.event("nearby.snapshot", null, "snapshot"));
+                });
+        live[0].join();
+
+        assertThat(sink.next().getData()).isEqualTo("b");
+        assertThat(sink.next().getData()).isEqualTo("snapshot");
+        assertThat(sink.next().getData()).isEqualTo("live");
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SseReplayBuffer.Replay attach(String lastEventId, RecordingSink sink) {
+        return replayBuffer.attach(USER_ID, lastEventId,
+                () -> registry.addOrReplace(USER_ID, sink, SseEncoding.JSON));
+    }
+
+    private long deliver(String data) {
+        long id = replayBuffer.nextId();
+        replayBuffer.deliver(USER_ID, id, SseFrame.event("test", String.valueOf(id), data));
+        return id;
+    }
+
+    // writer 스레드가 쓴 프레임을 순서대로 꺼내 봄
+    private static final class RecordingSink implements SseSink {
+
+        private final BlockingQueue<SseFrame> written = new LinkedBlockingQueue<>();
+
+        @Override
+        public void write(SseFrame frame) {
+            written.add(frame);
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public void completeWithError(Throwable e) {
+        }
+
+        private SseFrame next() throws InterruptedException {
+            SseFrame frame = written.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).as("frame written within 5s").isNotNull();
+            return frame;
+        }
+    }
+}
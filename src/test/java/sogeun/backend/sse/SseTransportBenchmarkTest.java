@@ -0,0 +1,201 @@
+package sogeun.backend.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRegistration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 실제 HTTP 연결로 잰 SSE 전송 비용 (./gradlew benchmark)
+// 내장 Tomcat + DispatcherServlet + SseEmitter 경로에 소켓 CONNECTIONS 개를 열고
+// 연결 수립 시간 / 연결당 힙 / 스레드 수 / 전체 연결 fan-out 지연을 출력
+// 클라이언트도 같은 JVM (NIO selector 한 스레드) 이라 힙 값에는 클라이언트 소켓 몫이 섞여 있음
+@Tag("benchmark")
+class SseTransportBenchmarkTest {
+
+    private static final int CONNECTIONS = 2_000;
+    private static final int ROUNDS = 5;
+
+    // 클라이언트는 이 바이트 수만 셈 (청크 경계와 상관없이 이벤트 하나에 정확히 한 번 나오는 값)
+    private static final byte MARK = '!';
+    private static final SseFrame EVENT = SseFrame.event("bench", null, "!");
+
+    @Test
+    void servletSseOverRealConnections() throws Exception {
+        SseEmitterRegistry registry = new SseEmitterRegistry(
+                new SseHeartbeatWheel(30_000, 1_000),
+                new SseRouteTable(null, false, "bench-node", 15_000, 1_000),
+                new SimpleMeterRegistry(),
+                256, 64, 15_000, 8, false, 0
+        );
+
+        AnnotationConfigWebApplicationContext web = new AnnotationConfigWebApplicationContext();
+        web.register(BenchWebConfig.class);
+        web.addBeanFactoryPostProcessor(beanFactory -> beanFactory.registerSingleton("sseEmitterRegistry", registry));
+
+        WebServer server = new TomcatServletWebServerFactory(0).getWebServer(servletContext -> {
+            ServletRegistration.Dynamic dispatcher = servletContext.addServlet("dispatcher", new DispatcherServlet(web));
+            dispatcher.setAsyncSupported(true);
+            dispatcher.setLoadOnStartup(1);
+            dispatcher.addMapping("/");
+        });
+        server.start();
+
+        List<SocketChannel> clients = new ArrayList<>(CONNECTIONS);
+        AtomicLong received = new AtomicLong();
+        Selector selector = Selector.open();
+        Thread reader = new Thread(() -> read(selector, received), "sse-bench-client");
+
+        try {
+            int threadsBefore = Thread.activeCount();
+            long heapBefore = usedHeap();
+            long connectStart = System.nanoTime();
+
+            for (int userId = 1; userId <= CONNECTIONS; userId++) {
+                SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.getPort()));
+                String request = "GET /sse?user=" + userId + " HTTP/1.1\r\n"
+                        + "Host: localhost\r\n"
+                        + "Accept: text/event-stream\r\n\r\n";
+                channel.write(ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII)));
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ);
+                clients.add(channel);
+            }
+            reader.start();
+            await(() -> registry.size() == CONNECTIONS, "all streams registered");
+
+            long connectMillis = (System.nanoTime() - connectStart) / 1_000_000;
+            long heapPerConnection = (usedHeap() - heapBefore) / CONNECTIONS;
+            int threadsAfter = Thread.activeCount();
+
+            long[] fanoutMillis = new long[ROUNDS];
+            for (int round = 0; round < ROUNDS; round++) {
+                long expected = (long) (round + 1) * CONNECTIONS;
+                long start = System.nanoTime();
+                for (Map.Entry<Long, SseConnection> entry : registry.entries()) {
+                    registry.send(entry.getValue(), EVENT);
+                }
+                await(() -> received.get() >= expected, "round delivered to every client");
+                fanoutMillis[round] = (System.nanoTime() - start) / 1_000_000;
+            }
+            Arrays.sort(fanoutMillis);
+
+            System.out.printf("[SSE-BENCH] connections=%d connectMs=%d maxHeap=%dMB%n",
+                    CONNECTIONS, connectMillis, Runtime.getRuntime().maxMemory() >> 20);
+            System.out.printf("[SSE-BENCH] heap bytes/conn (server+client)=%d threads before=%d after=%d%n",
+                    heapPerConnection, threadsBefore, threadsAfter);
+            System.out.printf("[SSE-BENCH] fan-out to all connections ms p50=%d max=%d%n",
+                    fanoutMillis[ROUNDS / 2], fanoutMillis[ROUNDS - 1]);
+
+            assertThat(received.get()).isEqualTo((long) ROUNDS * CONNECTIONS);
+        } finally {
+            reader.interrupt();
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+            selector.close();
+            registry.shutdown();
+            server.stop();
+            web.close();
+        }
+    }
+
+    // 모든 클라이언트 소켓을 한 스레드에서 읽으며 MARK 수를 셈
+    private static void read(Selector selector, AtomicLong received) {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                selector.select(100);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    buffer.clear();
+                    if (((SocketChannel) key.channel()).read(buffer) < 0) {
+                        key.cancel();
+                        continue;
+                    }
+                    buffer.flip();
+                    int marks = 0;
+                    while (buffer.hasRemaining()) {
+                        if (buffer.get() == MARK) marks++;
+                    }
+                    received.addAndGet(marks);
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            // selector 가 닫히면 종료
+        }
+    }
+
+    private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as(description + " within 60s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import(BenchSseController.class)
+    static class BenchWebConfig {
+    }
+
+    // 운영 컨트롤러와 같은 SseEmitter → EmitterSseSink → registry 경로 (인증 / 재전송만 뺌)
+    @RestController
+    static class BenchSseController {
+
+        private final SseEmitterRegistry registry;
+
+        BenchSseController(SseEmitterRegistry registry) {
+            this.registry = registry;
+        }
+
+        @GetMapping(value = "/sse", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        SseEmitter stream(@RequestParam("user") long userId) {
+            SseEmitter emitter = new SseEmitter(0L);
+            SseConnection connection = registry.addOrReplace(userId, new EmitterSseSink(emitter), SseEncoding.JSON);
+            emitter.onCompletion(() -> registry.remove(userId, connection));
+            return emitter;
+        }
+    }
+}
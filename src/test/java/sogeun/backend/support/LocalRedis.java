@@ -0,0 +1,58 @@
+package sogeun.backend.support;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+// 멀티 노드 테스트용 localhost Redis
+// 노드마다 connection factory 를 따로 만들어 한 JVM 안에서 여러 인스턴스가 같은 Redis 를 공유하도록
+public final class LocalRedis implements AutoCloseable {
+
+    private final RedisServer server;
+    private final int port;
+
+    private LocalRedis(RedisServer server, int port) {
+        this.server = server;
+        this.port = port;
+    }
+
+    public static LocalRedis start() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        RedisServer server = new RedisServer(port);
+        server.start();
+        return new LocalRedis(server, port);
+    }
+
+    public LettuceConnectionFactory connectionFactory() {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    public StringRedisTemplate template(LettuceConnectionFactory factory) {
+        StringRedisTemplate template = new StringRedisTemplate(factory);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    public void flushAll(StringRedisTemplate template) {
+        template.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.stop();
+    }
+}